@@ -46,6 +46,18 @@ export default function Dashboard() {
     };
   }, [items, trashedItems]);
 
+  const waitForReportJob = async (jobId: string) => {
+    for (let attempt = 0; attempt < 90; attempt++) {
+      await new Promise(resolve => setTimeout(resolve, 2000));
+      const response = await api.get(`/api/reports/jobs/${jobId}`, { responseType: 'blob' });
+      if (response.data.type === 'application/pdf') return response;
+
+      const job = JSON.parse(await response.data.text());
+      if (job.status === 'FAILED') throw new Error(job.error || 'Report generation failed');
+    }
+    throw new Error('Report generation timed out');
+  };
+
   const handleDownloadReport = async () => {
     if (!isPro) return;
     setIsDownloading(true);
@@ -53,11 +65,16 @@ export default function Dashboard() {
     try {
       const orgName = organization?.name || "Personal Workspace";
 
-      const response = await api.get(`/api/reports/weekly`, {
+      let response = await api.get(`/api/reports/weekly`, {
         params: { orgName },
         responseType: 'blob'
       });
 
+      if (response.status === 202) {
+        const job = JSON.parse(await response.data.text());
+        response = await waitForReportJob(job.id);
+      }
+
       const url = window.URL.createObjectURL(new Blob([response.data]));
       const link = document.createElement('a');
       link.href = url;
@@ -0,0 +1,82 @@
+package com.inventory.saas.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.saas.ai.format.ChatResponseFormatter;
+import com.inventory.saas.ai.model.Intent;
+import com.inventory.saas.service.InventoryAgentTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatToolPipelineBenchmark {
+
+    private record Item(UUID id, String name, String sku, Integer quantity, Integer minThreshold) {}
+
+    @Param({"100"})
+    private int itemCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChatResponseFormatter formatter = new ChatResponseFormatter(objectMapper);
+    private final Map<String, String> entities = Map.of();
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(UUID.randomUUID(), "Item " + i, "SKU-" + i, i % 40, 10));
+        }
+    }
+
+    @Benchmark
+    public String legacyStockSummary() throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Item item : items) {
+            Map<String, Object> m = new HashMap<>();
+            m.put("id", item.id().toString());
+            m.put("name", item.name());
+            m.put("sku", item.sku());
+            m.put("quantity", item.quantity());
+            m.put("minThreshold", item.minThreshold());
+            rows.add(m);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("items", rows);
+        result.put("total", (long) rows.size());
+        String toolJson = objectMapper.writeValueAsString(result);
+
+        Map<String, Object> parsed = objectMapper.readValue(toolJson, new TypeReference<Map<String, Object>>() {});
+        return formatter.wrapToolResult(Intent.STOCK_SUMMARY, entities, parsed);
+    }
+
+    @Benchmark
+    public String typedStockSummary() throws Exception {
+        List<InventoryAgentTools.StockItem> rows = new ArrayList<>(items.size());
+        for (Item item : items) {
+            rows.add(new InventoryAgentTools.StockItem(item.id().toString(), item.name(), item.sku(), item.quantity(), item.minThreshold()));
+        }
+        return formatter.wrapToolResult(Intent.STOCK_SUMMARY, entities, new InventoryAgentTools.StockSummary(rows, rows.size()));
+    }
+}
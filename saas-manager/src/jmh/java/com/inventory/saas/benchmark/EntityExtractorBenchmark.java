@@ -0,0 +1,75 @@
+package com.inventory.saas.benchmark;
+
+import com.inventory.saas.ai.extraction.EntityExtractor;
+import com.inventory.saas.ai.extraction.ItemCatalog;
+import com.inventory.saas.model.InventoryItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityExtractorBenchmark {
+
+    private static final String[] MESSAGES = {
+            "Show transactions made by Ivan Petrov",
+            "transaction history for Blue Widget 12",
+            "Which items are low stock?",
+            "Show me the history of SKU-0042 please",
+            "What happened to Steel Bolt 7 last week? Also who adjusted it.",
+            "hello there"
+    };
+
+    @Param({"1000"})
+    private int catalogSize;
+
+    private final EntityExtractor extractor = new EntityExtractor();
+    private ItemCatalog catalog;
+
+    @Setup
+    public void setUp() {
+        String[] colours = {"Blue", "Red", "Steel", "Copper", "Green"};
+        String[] kinds = {"Widget", "Bolt", "Bracket", "Hinge", "Panel"};
+        List<InventoryItem> items = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            InventoryItem item = new InventoryItem();
+            item.setId(UUID.randomUUID());
+            item.setName(colours[i % colours.length] + " " + kinds[(i / colours.length) % kinds.length] + " " + i);
+            item.setSku(String.format("SKU-%04d", i));
+            items.add(item);
+        }
+        catalog = ItemCatalog.of(items);
+    }
+
+    @Benchmark
+    public void extractBasicEntities(Blackhole bh) {
+        for (String message : MESSAGES) {
+            bh.consume(extractor.extractBasicEntities(message));
+        }
+    }
+
+    @Benchmark
+    public void extractWithCatalog(Blackhole bh) {
+        for (String message : MESSAGES) {
+            bh.consume(extractor.extractEntities(message, catalog));
+        }
+    }
+}
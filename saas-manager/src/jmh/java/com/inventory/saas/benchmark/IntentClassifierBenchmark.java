@@ -0,0 +1,79 @@
+package com.inventory.saas.benchmark;
+
+import com.inventory.saas.ai.intent.IntentClassifier;
+import com.inventory.saas.ai.model.Intent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntentClassifierBenchmark {
+
+    private static final String[] MESSAGES = {
+            "What is my current stock?",
+            "Show recent transactions",
+            "transaction history for Blue Widget",
+            "Which items are low stock?",
+            "When will widgets run out of stock?",
+            "Could you give me a rundown of everything that happened in the warehouse over the last couple of weeks, including any adjustments made by the night shift?",
+            "hello there"
+    };
+
+    private final IntentClassifier classifier = new IntentClassifier();
+
+    @Benchmark
+    public void legacyCascade(Blackhole bh) {
+        for (String message : MESSAGES) {
+            bh.consume(legacyClassify(message));
+        }
+    }
+
+    @Benchmark
+    public void compiledClassifier(Blackhole bh) {
+        for (String message : MESSAGES) {
+            bh.consume(classifier.classifyBasicIntent(message));
+        }
+    }
+
+    @Benchmark
+    public void compiledClassifierRanked(Blackhole bh) {
+        for (String message : MESSAGES) {
+            bh.consume(classifier.classify(message));
+        }
+    }
+
+    private static Intent legacyClassify(String userMessage) {
+        String m = userMessage.toLowerCase(Locale.ROOT);
+        if ((m.contains("transaction") || m.contains("transactions") || m.contains("history")) && (m.contains(" for ") || m.contains(" of ") || m.contains(" by "))) {
+            return Intent.FILTERED_TRANSACTIONS;
+        }
+        if (m.contains("recent") || m.contains("recent movements") || m.contains("movements") || m.contains("activity")) {
+            return Intent.RECENT_TRANSACTIONS;
+        }
+        if (m.contains("low stock") || m.contains("restock") || m.contains("restocking")) {
+            return Intent.LOW_STOCK;
+        }
+        if (m.contains("stock level") || m.contains("stock levels") || m.contains("stock") || m.contains("inventory") || m.contains("in stock") || m.contains("what do i have")) {
+            return Intent.STOCK_SUMMARY;
+        }
+        if (m.contains("forecast") || m.contains("runout") || m.contains("run out")) {
+            return Intent.FORECAST_QUERIES;
+        }
+        return Intent.OTHER;
+    }
+}
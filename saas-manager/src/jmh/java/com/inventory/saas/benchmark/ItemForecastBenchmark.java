@@ -0,0 +1,77 @@
+package com.inventory.saas.benchmark;
+
+import com.inventory.saas.ai.context.ItemForecastCalculator;
+import com.inventory.saas.dto.StockAIInsightDTO;
+import com.inventory.saas.model.InventoryItem;
+import com.inventory.saas.model.StockTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemForecastBenchmark {
+
+    @Param({"500"})
+    private int itemCount;
+
+    @Param({"20000"})
+    private int transactionCount;
+
+    private final ItemForecastCalculator calculator = new ItemForecastCalculator();
+    private final LocalDate today = LocalDate.of(2025, 1, 31);
+    private List<InventoryItem> items;
+    private List<StockTransaction> history;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            InventoryItem item = new InventoryItem();
+            item.setId(UUID.randomUUID());
+            item.setName("Item " + i);
+            item.setSku("SKU-" + i);
+            item.setQuantity(random.nextInt(500));
+            item.setMinThreshold(10);
+            items.add(item);
+        }
+
+        history = new ArrayList<>(transactionCount);
+        LocalDateTime start = today.atStartOfDay().minusDays(ItemForecastCalculator.WINDOW_DAYS);
+        for (int i = 0; i < transactionCount; i++) {
+            StockTransaction tx = new StockTransaction();
+            tx.setInventoryItem(items.get(random.nextInt(itemCount)));
+            boolean out = random.nextInt(3) > 0;
+            tx.setType(out ? "STOCK_OUT" : "STOCK_IN");
+            tx.setQuantityChange(out ? -(1 + random.nextInt(20)) : 1 + random.nextInt(40));
+            tx.setCreatedAt(start.plusMinutes(random.nextInt(ItemForecastCalculator.WINDOW_DAYS * 24 * 60)));
+            history.add(tx);
+        }
+    }
+
+    @Benchmark
+    public List<StockAIInsightDTO> forecastAllItems() {
+        return calculator.forecast(items, history, today);
+    }
+}
@@ -0,0 +1,69 @@
+package com.inventory.saas.benchmark;
+
+import com.inventory.saas.ai.matching.PerformerIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerformerIndexBenchmark {
+
+    private static final String[] FIRST = {"Ivan", "Maria", "John", "Aiko", "Pedro", "Fatima", "Chen", "Olga", "Samuel", "Nadia"};
+    private static final String[] LAST = {"Petrov", "Garcia", "Smith", "Tanaka", "Silva", "Khan", "Wei", "Ivanova", "Okafor", "Haddad"};
+
+    @Param({"5000"})
+    private int performers;
+
+    private PerformerIndex index;
+    private String exact;
+    private String prefix;
+    private String typo;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>(performers);
+        for (int i = 0; i < performers; i++) {
+            names.add(FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + " " + i);
+        }
+        index = new PerformerIndex(names);
+
+        String target = names.get(performers / 2);
+        exact = target.toUpperCase();
+        prefix = target.substring(0, target.length() - 2);
+        typo = target.replaceFirst("a", "e");
+    }
+
+    @Benchmark
+    public String exactMatch() {
+        return index.match(exact);
+    }
+
+    @Benchmark
+    public String prefixMatch() {
+        return index.match(prefix);
+    }
+
+    @Benchmark
+    public String fuzzyMatch() {
+        return index.match(typo);
+    }
+}
@@ -0,0 +1,101 @@
+package com.inventory.saas.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(800)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=8")
+public class RequestExecutorBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"200"})
+    private int platformPoolSize;
+
+    @Param({"5"})
+    private int ioWaits;
+
+    @Param({"4"})
+    private long ioMillis;
+
+    @Param({"false", "true"})
+    private boolean pinned;
+
+    private final Object[] monitors = new Object[4096];
+    private final AtomicInteger nextMonitor = new AtomicInteger();
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < monitors.length; i++) monitors[i] = new Object();
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(platformPoolSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long handleRequest() throws Exception {
+        Future<Long> response = executor.submit(this::simulateRequest);
+        return response.get();
+    }
+
+    private long simulateRequest() {
+        long checksum = 0;
+        Object monitor = monitors[Math.floorMod(nextMonitor.getAndIncrement(), monitors.length)];
+        for (int i = 0; i < ioWaits; i++) {
+            checksum += work(i);
+            if (pinned) {
+                synchronized (monitor) {
+                    blockOnIo();
+                }
+            } else {
+                blockOnIo();
+            }
+        }
+        return checksum;
+    }
+
+    private void blockOnIo() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(ioMillis));
+    }
+
+    private static long work(int seed) {
+        long x = seed + 1;
+        for (int i = 0; i < 2_000; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+}
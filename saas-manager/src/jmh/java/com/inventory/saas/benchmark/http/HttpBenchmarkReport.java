@@ -0,0 +1,93 @@
+package com.inventory.saas.benchmark.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+final class HttpBenchmarkReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record EndpointStats(long count, long errors, double throughput, double meanMs, double p50Ms,
+                         double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        static EndpointStats of(Histogram micros, long errors, double seconds) {
+            long count = micros.getTotalCount();
+            return new EndpointStats(count, errors, round(count / seconds),
+                    round(micros.getMean() / 1000), millis(micros, 50), millis(micros, 90),
+                    millis(micros, 99), millis(micros, 99.9), round(micros.getMaxValue() / 1000.0));
+        }
+
+        private static double millis(Histogram micros, double percentile) {
+            return round(micros.getValueAtPercentile(percentile) / 1000.0);
+        }
+    }
+
+    record Result(Map<String, Object> settings, EndpointStats total, Map<String, EndpointStats> endpoints) {}
+
+    record Regression(String endpoint, String metric, double baseline, double current) {
+
+        double changePercent() {
+            return baseline == 0 ? 0 : round((current - baseline) * 100 / baseline);
+        }
+    }
+
+    private HttpBenchmarkReport() {
+    }
+
+    static void write(Result result, Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        MAPPER.writeValue(path.toFile(), result);
+    }
+
+    static Result read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), Result.class);
+    }
+
+    static List<Regression> compare(Result baseline, Result current, double tolerance) {
+        List<Regression> regressions = new ArrayList<>();
+        current.endpoints().forEach((name, stats) -> {
+            EndpointStats base = baseline.endpoints().get(name);
+            if (base == null) return;
+            if (stats.throughput() < base.throughput() * (1 - tolerance)) {
+                regressions.add(new Regression(name, "throughput", base.throughput(), stats.throughput()));
+            }
+            if (stats.p99Ms() > base.p99Ms() * (1 + tolerance)) {
+                regressions.add(new Regression(name, "p99Ms", base.p99Ms(), stats.p99Ms()));
+            }
+        });
+        return regressions;
+    }
+
+    static void print(Result result, Result baseline, PrintStream out) {
+        out.printf("%-22s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        result.endpoints().forEach((name, stats) -> printRow(out, name, stats, baseline != null ? baseline.endpoints().get(name) : null));
+        printRow(out, "total", result.total(), baseline != null ? baseline.total() : null);
+    }
+
+    private static void printRow(PrintStream out, String name, EndpointStats stats, EndpointStats base) {
+        out.printf("%-22s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, stats.count(), stats.errors(),
+                stats.throughput(), stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs());
+        if (base != null) {
+            out.printf("%-22s %9s %7s %9.1f%% %9s %9s %8.1f%%%n", "  vs baseline", "", "",
+                    change(base.throughput(), stats.throughput()), "", "", change(base.p99Ms(), stats.p99Ms()));
+        }
+    }
+
+    private static double change(double baseline, double current) {
+        return baseline == 0 ? 0 : (current - baseline) * 100 / baseline;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
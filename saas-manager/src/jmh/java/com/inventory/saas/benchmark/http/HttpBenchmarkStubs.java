@@ -0,0 +1,45 @@
+package com.inventory.saas.benchmark.http;
+
+import com.inventory.saas.service.RateLimitService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+
+@Configuration
+@Profile("http-bench")
+public class HttpBenchmarkStubs {
+
+    static final String TOKEN = "http-bench";
+
+    @Bean
+    public JwtDecoder benchmarkJwtDecoder() {
+        return token -> Jwt.withTokenValue(token)
+                .header("alg", "none")
+                .subject("http-bench")
+                .claim("org_role", "org:admin")
+                .claim("org_plan", "pro")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public RateLimitService benchmarkRateLimitService() {
+        return new RateLimitService() {
+            @Override
+            public void init() {
+            }
+
+            @Override
+            public boolean isAllowed(String tenantId, int limitPerMinute) {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,300 @@
+package com.inventory.saas.benchmark.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.saas.SaasManagerApplication;
+import com.inventory.saas.service.SyntheticDataGenerator;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public final class HttpLoadBenchmark {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    record Settings(int concurrency, int durationSeconds, int warmupSeconds, int tenants, int items,
+                    int transactions, long seed, Map<String, Integer> mix, Path output, Path baseline,
+                    boolean saveBaseline, double tolerance, boolean failOnRegression,
+                    Map<String, String> applicationProperties) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> options = new LinkedHashMap<>();
+            Map<String, String> properties = defaultApplicationProperties();
+            for (String arg : args) {
+                if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument: " + arg);
+                String[] pair = arg.substring(2).split("=", 2);
+                String value = pair.length > 1 ? pair[1] : "true";
+                if (pair[0].contains(".")) {
+                    properties.put(pair[0], value);
+                } else {
+                    options.put(pair[0], value);
+                }
+            }
+
+            Map<String, Integer> mix = new LinkedHashMap<>(HttpWorkload.DEFAULT_MIX);
+            if (options.containsKey("mix")) {
+                mix.clear();
+                for (String entry : options.remove("mix").split(",")) {
+                    String[] weight = entry.split(":", 2);
+                    mix.put(weight[0].trim(), weight.length > 1 ? Integer.parseInt(weight[1].trim()) : 1);
+                }
+            }
+
+            Settings settings = new Settings(
+                    intOption(options, "concurrency", 64),
+                    intOption(options, "duration", 60),
+                    intOption(options, "warmup", 15),
+                    intOption(options, "tenants", 5),
+                    intOption(options, "items", 1000),
+                    intOption(options, "transactions", 20000),
+                    Long.parseLong(options.getOrDefault("seed", "42")),
+                    mix,
+                    Path.of(options.getOrDefault("output", "target/http-bench/result.json")),
+                    Path.of(options.getOrDefault("baseline", "benchmarks/http-baseline.json")),
+                    Boolean.parseBoolean(options.getOrDefault("save-baseline", "false")),
+                    Double.parseDouble(options.getOrDefault("tolerance", "0.10")),
+                    Boolean.parseBoolean(options.getOrDefault("fail-on-regression", "true")),
+                    properties);
+
+            options.keySet().removeAll(List.of("concurrency", "duration", "warmup", "tenants", "items", "transactions",
+                    "seed", "output", "baseline", "save-baseline", "tolerance", "fail-on-regression"));
+            if (!options.isEmpty()) throw new IllegalArgumentException("Unknown options: " + options.keySet());
+            return settings;
+        }
+
+        String[] applicationArgs() {
+            return applicationProperties.entrySet().stream()
+                    .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                    .toArray(String[]::new);
+        }
+
+        private static int intOption(Map<String, String> options, String name, int defaultValue) {
+            return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+        }
+    }
+
+    private HttpLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(SaasManagerApplication.class)
+                .profiles("stub-ai", "http-bench")
+                .run(settings.applicationArgs());
+
+        int exitCode;
+        try {
+            exitCode = run(app, settings, System.out);
+        } finally {
+            app.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(ConfigurableApplicationContext app, Settings settings, PrintStream out) throws Exception {
+        int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+        URI baseUri = URI.create("http://localhost:" + port);
+
+        SyntheticDataGenerator.Report seeded = app.getBean(SyntheticDataGenerator.class).generate(new SyntheticDataGenerator.Request(
+                settings.tenants(), settings.items(), settings.transactions(), 180, 20, 1.1,
+                Math.min(settings.tenants(), Runtime.getRuntime().availableProcessors()), settings.seed(), "http-bench"));
+        out.printf("Seeded %d tenants, %d items, %d transactions in %d ms%n",
+                seeded.tenants(), seeded.items(), seeded.transactions(), seeded.elapsedMillis());
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<HttpWorkload.Tenant> tenants = new ArrayList<>();
+        for (String tenantId : seeded.tenantIds()) {
+            tenants.add(new HttpWorkload.Tenant(tenantId, itemIds(client, baseUri, tenantId)));
+        }
+        HttpWorkload workload = new HttpWorkload(baseUri, tenants, settings.mix());
+
+        HttpBenchmarkReport.Result result = drive(client, workload, settings,
+                app.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"));
+        HttpBenchmarkReport.write(result, settings.output());
+        out.println("Results written to " + settings.output().toAbsolutePath());
+
+        if (settings.saveBaseline()) {
+            HttpBenchmarkReport.write(result, settings.baseline());
+            HttpBenchmarkReport.print(result, null, out);
+            out.println("Baseline saved to " + settings.baseline().toAbsolutePath());
+            return 0;
+        }
+
+        if (!Files.exists(settings.baseline())) {
+            HttpBenchmarkReport.print(result, null, out);
+            out.println("No baseline at " + settings.baseline() + "; rerun with --save-baseline to record one");
+            return 0;
+        }
+
+        HttpBenchmarkReport.Result baseline = HttpBenchmarkReport.read(settings.baseline());
+        HttpBenchmarkReport.print(result, baseline, out);
+        List<HttpBenchmarkReport.Regression> regressions = HttpBenchmarkReport.compare(baseline, result, settings.tolerance());
+        if (regressions.isEmpty()) {
+            out.printf("No regressions beyond %.0f%% of baseline%n", settings.tolerance() * 100);
+            return 0;
+        }
+
+        for (HttpBenchmarkReport.Regression r : regressions) {
+            out.printf("REGRESSION %s %s: %.2f -> %.2f (%+.1f%%)%n",
+                    r.endpoint(), r.metric(), r.baseline(), r.current(), r.changePercent());
+        }
+        return settings.failOnRegression() ? 1 : 0;
+    }
+
+    private static HttpBenchmarkReport.Result drive(HttpClient client, HttpWorkload workload, Settings settings,
+                                                    String virtualThreads) throws Exception {
+        int workers = settings.concurrency();
+        int operations = workload.operationNames().size();
+        Histogram[][] histograms = new Histogram[workers][operations];
+        long[][] errors = new long[workers][operations];
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                for (int op = 0; op < operations; op++) histograms[w][op] = new Histogram(HIGHEST_MICROS, 3);
+                futures.add(pool.submit(() -> {
+                    runWorker(client, workload, new SplittableRandom(settings.seed() * 7919 + worker),
+                            histograms[worker], errors[worker], measureFrom, deadline);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = settings.durationSeconds();
+        Histogram all = new Histogram(HIGHEST_MICROS, 3);
+        long allErrors = 0;
+        Map<String, HttpBenchmarkReport.EndpointStats> endpoints = new LinkedHashMap<>();
+        for (int op = 0; op < operations; op++) {
+            Histogram merged = new Histogram(HIGHEST_MICROS, 3);
+            long opErrors = 0;
+            for (int w = 0; w < workers; w++) {
+                merged.add(histograms[w][op]);
+                opErrors += errors[w][op];
+            }
+            String name = workload.operationNames().get(op);
+            writeDistribution(settings.output(), name, merged);
+            endpoints.put(name, HttpBenchmarkReport.EndpointStats.of(merged, opErrors, seconds));
+            all.add(merged);
+            allErrors += opErrors;
+        }
+
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("concurrency", settings.concurrency());
+        described.put("durationSeconds", settings.durationSeconds());
+        described.put("warmupSeconds", settings.warmupSeconds());
+        described.put("tenants", settings.tenants());
+        described.put("itemsPerTenant", settings.items());
+        described.put("transactionsPerTenant", settings.transactions());
+        described.put("seed", settings.seed());
+        described.put("mix", settings.mix());
+        described.put("virtualThreads", virtualThreads);
+        described.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        described.put("javaVersion", Runtime.version().toString());
+        return new HttpBenchmarkReport.Result(described, HttpBenchmarkReport.EndpointStats.of(all, allErrors, seconds), endpoints);
+    }
+
+    private static void runWorker(HttpClient client, HttpWorkload workload, SplittableRandom random,
+                                  Histogram[] histograms, long[] errors, long measureFrom, long deadline)
+            throws InterruptedException {
+        long start;
+        while ((start = System.nanoTime()) < deadline) {
+            int op = workload.pick(random);
+            HttpWorkload.Tenant tenant = workload.tenant(random);
+            HttpWorkload.Operation operation = workload.operation(op);
+
+            boolean failed;
+            try {
+                HttpResponse<Void> response = client.send(operation.request(tenant, random), HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+                operation.onResponse(tenant, response);
+            } catch (IOException e) {
+                failed = true;
+            }
+
+            if (start >= measureFrom) {
+                histograms[op].recordValue(Math.min(HIGHEST_MICROS, (System.nanoTime() - start) / 1000));
+                if (failed) errors[op]++;
+            }
+        }
+    }
+
+    private static List<UUID> itemIds(HttpClient client, URI baseUri, String tenantId) throws Exception {
+        HttpRequest request = HttpWorkload.authorized(baseUri.resolve("/api/inventory?page=1&limit=200"), tenantId).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing inventory for " + tenantId + " returned " + response.statusCode());
+        }
+
+        List<UUID> ids = new ArrayList<>();
+        for (JsonNode item : new ObjectMapper().readTree(response.body()).path("items")) {
+            ids.add(UUID.fromString(item.path("id").asText()));
+        }
+        if (ids.isEmpty()) throw new IllegalStateException("No inventory seeded for " + tenantId);
+        return ids;
+    }
+
+    private static void writeDistribution(Path output, String name, Histogram micros) throws IOException {
+        Path dir = output.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+            micros.outputPercentileDistribution(stream, 1000.0);
+        }
+    }
+
+    private static Map<String, String> defaultApplicationProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:http-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.security.oauth2.resourceserver.jwt.issuer-uri", "http://localhost/http-bench");
+        properties.put("spring.autoconfigure.exclude",
+                "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration");
+        properties.put("spring.data.redis.host", "localhost");
+        properties.put("spring.data.redis.port", "6379");
+        properties.put("spring.data.redis.password", "");
+        properties.put("cache.two-tier.l2", "memory");
+        properties.put("ai.stub.latency.median-ms", "50");
+        properties.put("ai.stub.latency.p99-ms", "250");
+        properties.put("logging.level.com.inventory.saas", "WARN");
+        return properties;
+    }
+}
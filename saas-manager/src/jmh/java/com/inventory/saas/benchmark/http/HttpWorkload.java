@@ -0,0 +1,153 @@
+package com.inventory.saas.benchmark.http;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class HttpWorkload {
+
+    static final Map<String, Integer> DEFAULT_MIX = defaultMix();
+
+    private static final String[] SEARCH_TERMS = {"Widget", "Bolt", "Cable", "Valve", "Steel", "Compact"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    record Tenant(String id, List<UUID> itemIds) {}
+
+    interface Operation {
+        HttpRequest request(Tenant tenant, SplittableRandom random);
+
+        default void onResponse(Tenant tenant, HttpResponse<?> response) {
+        }
+    }
+
+    private final URI baseUri;
+    private final List<Tenant> tenants;
+    private final List<String> names = new ArrayList<>();
+    private final List<Operation> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final Map<String, String> reportETags = new ConcurrentHashMap<>();
+
+    HttpWorkload(URI baseUri, List<Tenant> tenants, Map<String, Integer> mix) {
+        this.baseUri = baseUri;
+        this.tenants = tenants;
+
+        Map<String, Operation> available = operations();
+        List<Integer> weights = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            Operation operation = available.get(name);
+            if (operation == null) {
+                throw new IllegalArgumentException("Unknown operation '" + name + "', expected one of " + available.keySet());
+            }
+            if (weight <= 0) return;
+            names.add(name);
+            operations.add(operation);
+            weights.add(weight);
+        });
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix has no operations with a positive weight");
+        }
+
+        cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            sum += weights.get(i);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    List<String> operationNames() {
+        return names;
+    }
+
+    int pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) return i;
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    Tenant tenant(SplittableRandom random) {
+        return tenants.get(random.nextInt(tenants.size()));
+    }
+
+    Operation operation(int index) {
+        return operations.get(index);
+    }
+
+    static HttpRequest.Builder authorized(URI uri, String tenantId) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + HttpBenchmarkStubs.TOKEN)
+                .header("X-Tenant-ID", tenantId)
+                .header("X-Organization-Plan", "pro")
+                .header("X-Tenant-Plan", "pro")
+                .header("X-Performed-By", "http-bench");
+    }
+
+    private Map<String, Operation> operations() {
+        Map<String, Operation> ops = new LinkedHashMap<>();
+        ops.put("inventory.list", (tenant, random) ->
+                get(tenant, "/api/inventory?page=" + (1 + random.nextInt(5)) + "&limit=20"));
+        ops.put("inventory.search", (tenant, random) ->
+                get(tenant, "/api/inventory?limit=20&search=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]));
+        ops.put("transactions.recent", (tenant, random) -> get(tenant, "/api/transactions/recent"));
+        ops.put("transactions.history", (tenant, random) -> get(tenant, "/api/transactions/" + item(tenant, random)));
+        ops.put("transactions.create", (tenant, random) -> {
+            String type = random.nextInt(3) == 0 ? "STOCK_IN" : "STOCK_OUT";
+            String body = "{\"amount\":" + (1 + random.nextInt(5)) + ",\"type\":\"" + type
+                    + "\",\"reason\":\"Benchmark\",\"performedBy\":\"http-bench\"}";
+            return authorized(baseUri.resolve("/api/transactions/" + item(tenant, random)), tenant.id())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        });
+        ops.put("forecast.items", (tenant, random) -> get(tenant, "/api/v1/forecast/all"));
+        ops.put("forecast.summary", (tenant, random) -> get(tenant, "/api/v1/forecast/summary"));
+        ops.put("reports.weekly", new Operation() {
+            @Override
+            public HttpRequest request(Tenant tenant, SplittableRandom random) {
+                HttpRequest.Builder builder = authorized(baseUri.resolve("/api/reports/weekly"), tenant.id());
+                String eTag = reportETags.get(tenant.id());
+                if (eTag != null) builder.header("If-None-Match", eTag);
+                return builder.GET().build();
+            }
+
+            @Override
+            public void onResponse(Tenant tenant, HttpResponse<?> response) {
+                response.headers().firstValue("ETag").ifPresent(eTag -> reportETags.put(tenant.id(), eTag));
+            }
+        });
+        return ops;
+    }
+
+    private HttpRequest get(Tenant tenant, String path) {
+        return authorized(baseUri.resolve(path), tenant.id()).GET().build();
+    }
+
+    private static UUID item(Tenant tenant, SplittableRandom random) {
+        return tenant.itemIds().get(random.nextInt(tenant.itemIds().size()));
+    }
+
+    private static Map<String, Integer> defaultMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("inventory.list", 30);
+        mix.put("inventory.search", 10);
+        mix.put("transactions.recent", 15);
+        mix.put("transactions.history", 12);
+        mix.put("transactions.create", 8);
+        mix.put("forecast.items", 12);
+        mix.put("forecast.summary", 8);
+        mix.put("reports.weekly", 5);
+        return Collections.unmodifiableMap(mix);
+    }
+}
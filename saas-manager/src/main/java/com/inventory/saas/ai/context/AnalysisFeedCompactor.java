@@ -0,0 +1,197 @@
+package com.inventory.saas.ai.context;
+
+import com.inventory.saas.model.InventoryItem;
+import com.inventory.saas.model.StockTransaction;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class AnalysisFeedCompactor {
+
+    private static final int DEFAULT_MIN_THRESHOLD = 5;
+    private static final int MAX_DAYS_OF_COVER = 999;
+
+    public record WeeklyMovement(LocalDate weekStart, long inbound, long outbound) {}
+
+    public record ItemDigest(String name, String sku, int currentQty, int threshold,
+                             long totalIn, long totalOut, List<WeeklyMovement> weeks,
+                             double dailyBurn, int daysOfCover, String trend, double risk) {
+
+        boolean belowThreshold() {
+            return currentQty <= threshold;
+        }
+    }
+
+    public record CompactFeed(String text, int estimatedTokens, int itemsIncluded, int itemsTotal, int sourceTransactions) {}
+
+    public CompactFeed compact(List<StockTransaction> history, LocalDate today, int windowDays, int tokenBudget) {
+        List<ItemDigest> digests = digest(history, today, windowDays);
+
+        StringBuilder feed = new StringBuilder();
+        feed.append("Window: last ").append(windowDays).append(" days, ")
+                .append(digests.size()).append(" items, ")
+                .append(history.size()).append(" movements. Items ranked by stock-out risk.\n")
+                .append("Weekly series are oldest to newest.\n");
+
+        int tokens = TokenEstimator.estimate(feed);
+        int included = 0;
+        for (ItemDigest digest : digests) {
+            String omitted = omittedNote(digests, included + 1);
+            int reserve = TokenEstimator.estimate(omitted);
+
+            String line = formatItem(digest, true);
+            int lineTokens = TokenEstimator.estimate(line);
+            if (tokens + lineTokens + reserve > tokenBudget) {
+                line = formatItem(digest, false);
+                lineTokens = TokenEstimator.estimate(line);
+            }
+            if (tokens + lineTokens + reserve > tokenBudget) break;
+
+            feed.append(line);
+            tokens += lineTokens;
+            included++;
+        }
+
+        if (included < digests.size()) {
+            String omitted = omittedNote(digests, included);
+            feed.append(omitted);
+            tokens += TokenEstimator.estimate(omitted);
+        }
+
+        return new CompactFeed(feed.toString(), tokens, included, digests.size(), history.size());
+    }
+
+    public List<ItemDigest> digest(List<StockTransaction> history, LocalDate today, int windowDays) {
+        LocalDate currentWeek = weekStart(today);
+        LocalDate firstWeek = weekStart(today.minusDays(windowDays));
+        int weekCount = (int) ChronoUnit.WEEKS.between(firstWeek, currentWeek) + 1;
+
+        Map<String, List<StockTransaction>> byItem = history.stream()
+                .filter(t -> t.getInventoryItem() != null)
+                .collect(Collectors.groupingBy(t -> itemKey(t.getInventoryItem()), LinkedHashMap::new, Collectors.toList()));
+
+        List<ItemDigest> digests = new ArrayList<>(byItem.size());
+        for (List<StockTransaction> txs : byItem.values()) {
+            InventoryItem item = txs.get(0).getInventoryItem();
+            long[] inbound = new long[weekCount];
+            long[] outbound = new long[weekCount];
+
+            for (StockTransaction t : txs) {
+                int change = t.getQuantityChange() != null ? t.getQuantityChange() : 0;
+                if (change == 0 || t.getCreatedAt() == null) continue;
+
+                int week = (int) ChronoUnit.WEEKS.between(firstWeek, weekStart(t.getCreatedAt().toLocalDate()));
+                if (week < 0 || week >= weekCount) continue;
+
+                if (change > 0) inbound[week] += change;
+                else outbound[week] += -change;
+            }
+
+            List<WeeklyMovement> weeks = new ArrayList<>(weekCount);
+            long totalIn = 0;
+            long totalOut = 0;
+            for (int w = 0; w < weekCount; w++) {
+                weeks.add(new WeeklyMovement(firstWeek.plusWeeks(w), inbound[w], outbound[w]));
+                totalIn += inbound[w];
+                totalOut += outbound[w];
+            }
+
+            int currentQty = item.getQuantity() != null ? item.getQuantity() : 0;
+            int threshold = item.getMinThreshold() != null ? item.getMinThreshold() : DEFAULT_MIN_THRESHOLD;
+            double dailyBurn = (double) totalOut / windowDays;
+            int daysOfCover = dailyBurn > 0 ? (int) Math.min(MAX_DAYS_OF_COVER, currentQty / dailyBurn) : MAX_DAYS_OF_COVER;
+            String trend = trend(outbound);
+
+            digests.add(new ItemDigest(item.getName(), item.getSku(), currentQty, threshold, totalIn, totalOut,
+                    weeks, dailyBurn, daysOfCover, trend, risk(currentQty, threshold, daysOfCover, trend, windowDays)));
+        }
+
+        digests.sort(Comparator.comparingDouble(ItemDigest::risk).reversed()
+                .thenComparing(Comparator.comparingLong(ItemDigest::totalOut).reversed())
+                .thenComparing(ItemDigest::name, Comparator.nullsLast(Comparator.naturalOrder())));
+        return digests;
+    }
+
+    private String formatItem(ItemDigest digest, boolean withWeeks) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("- ").append(digest.name());
+        if (digest.sku() != null && !digest.sku().isBlank()) {
+            sb.append(" [").append(digest.sku()).append("]");
+        }
+        sb.append(" | qty ").append(digest.currentQty())
+                .append(" min ").append(digest.threshold())
+                .append(" | in ").append(digest.totalIn())
+                .append(" out ").append(digest.totalOut())
+                .append(" | burn/day ").append(String.format(Locale.ROOT, "%.1f", digest.dailyBurn()))
+                .append(" cover ").append(digest.daysOfCover() >= MAX_DAYS_OF_COVER ? "n/a" : digest.daysOfCover() + "d")
+                .append(" | trend ").append(digest.trend());
+        if (digest.belowThreshold()) {
+            sb.append(" | BELOW MIN");
+        }
+        if (withWeeks) {
+            sb.append("\n  weekly out: ").append(series(digest.weeks(), true))
+                    .append("\n  weekly in: ").append(series(digest.weeks(), false));
+        }
+        return sb.append("\n").toString();
+    }
+
+    private String series(List<WeeklyMovement> weeks, boolean outbound) {
+        return weeks.stream()
+                .map(w -> String.valueOf(outbound ? w.outbound() : w.inbound()))
+                .collect(Collectors.joining(","));
+    }
+
+    private String omittedNote(List<ItemDigest> digests, int included) {
+        int omitted = digests.size() - included;
+        if (omitted <= 0) return "";
+
+        long omittedOut = digests.subList(included, digests.size()).stream().mapToLong(ItemDigest::totalOut).sum();
+        return "- " + omitted + " lower-risk items omitted (combined out " + omittedOut + ")\n";
+    }
+
+    private String trend(long[] outbound) {
+        int completeWeeks = outbound.length - 1;
+        int recentWeeks = Math.min(2, completeWeeks);
+        int earlierWeeks = completeWeeks - recentWeeks;
+        if (earlierWeeks <= 0) return "STEADY";
+
+        double recent = 0;
+        for (int i = completeWeeks - recentWeeks; i < completeWeeks; i++) recent += outbound[i];
+        recent /= recentWeeks;
+
+        double earlier = 0;
+        for (int i = 0; i < earlierWeeks; i++) earlier += outbound[i];
+        earlier /= earlierWeeks;
+
+        if (recent > earlier * 1.25 && recent - earlier >= 1) return "RISING";
+        if (recent < earlier * 0.75 && earlier - recent >= 1) return "FALLING";
+        return "STEADY";
+    }
+
+    private double risk(int currentQty, int threshold, int daysOfCover, String trend, int windowDays) {
+        double cover = Math.min(daysOfCover, windowDays);
+        double risk = (windowDays - cover) / windowDays * 3;
+        if (currentQty <= threshold) risk += 2;
+        if ("RISING".equals(trend)) risk += 1;
+        return risk;
+    }
+
+    private String itemKey(InventoryItem item) {
+        return item.getId() != null ? item.getId().toString() : item.getName();
+    }
+
+    private LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
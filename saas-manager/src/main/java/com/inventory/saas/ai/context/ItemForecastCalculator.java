@@ -0,0 +1,58 @@
+package com.inventory.saas.ai.context;
+
+import com.inventory.saas.dto.StockAIInsightDTO;
+import com.inventory.saas.model.InventoryItem;
+import com.inventory.saas.model.StockTransaction;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ItemForecastCalculator {
+
+    public static final int WINDOW_DAYS = 30;
+
+    public List<StockAIInsightDTO> forecast(List<InventoryItem> items, List<StockTransaction> history, LocalDate today) {
+        Map<String, List<StockTransaction>> itemsMap = history.stream()
+                .filter(t -> t.getInventoryItem() != null)
+                .collect(Collectors.groupingBy(t -> t.getInventoryItem().getName()));
+
+        return items.stream().map(item -> {
+            String itemName = item.getName();
+            List<StockTransaction> txs = itemsMap.get(itemName);
+
+            long totalOut = 0;
+            if (txs != null) {
+                totalOut = txs.stream()
+                        .filter(t -> t.getType() != null && t.getType().contains("OUT"))
+                        .mapToLong(t -> Math.abs(t.getQuantityChange()))
+                        .sum();
+            }
+
+            double dailyBurnRate = totalOut / (double) WINDOW_DAYS;
+            int currentQty = item.getQuantity() != null ? item.getQuantity() : 0;
+            int daysRemaining = (dailyBurnRate > 0) ? (int) (currentQty / dailyBurnRate) : 99;
+
+            int suggestedThreshold = (int) Math.ceil(dailyBurnRate * 14);
+            if (suggestedThreshold < 5) suggestedThreshold = 5;
+
+            String status = daysRemaining < 7 ? "CRITICAL" : (daysRemaining < 20 ? "WARNING" : "STABLE");
+
+            String notes = (txs == null || txs.isEmpty()) ?
+                    "No recent activity in last 30 days" :
+                    "Calculated based on 30-day velocity.";
+
+            return new StockAIInsightDTO(
+                    itemName != null ? itemName : "Unknown Item",
+                    item.getSku() != null ? item.getSku() : "N/A",
+                    currentQty,
+                    daysRemaining,
+                    today.plusDays(daysRemaining),
+                    status,
+                    suggestedThreshold,
+                    notes
+            );
+        }).collect(Collectors.toList());
+    }
+}
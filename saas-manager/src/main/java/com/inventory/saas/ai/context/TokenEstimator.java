@@ -0,0 +1,40 @@
+package com.inventory.saas.ai.context;
+
+public final class TokenEstimator {
+
+    private static final int LETTERS_PER_TOKEN = 4;
+    private static final int DIGITS_PER_TOKEN = 3;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) return 0;
+
+        int tokens = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isLetter(c)) {
+                int start = i;
+                while (i < length && Character.isLetter(text.charAt(i))) i++;
+                tokens += ceilDiv(i - start, LETTERS_PER_TOKEN);
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && Character.isDigit(text.charAt(i))) i++;
+                tokens += ceilDiv(i - start, DIGITS_PER_TOKEN);
+            } else {
+                tokens++;
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
@@ -1,17 +1,17 @@
 package com.inventory.saas.ai.context;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.inventory.saas.ai.matching.PerformerMatcher;
+import com.inventory.saas.ai.matching.PerformerIndexService;
 import com.inventory.saas.repository.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.UUID;
 
 @Service
 public class TransactionContextBuilder {
@@ -19,140 +19,128 @@ public class TransactionContextBuilder {
     private static final Logger logger = LoggerFactory.getLogger(TransactionContextBuilder.class);
 
     private final TransactionRepository transactionRepository;
-    private final ObjectMapper objectMapper;
-    private final PerformerMatcher performerMatcher;
+    private final PerformerIndexService performerIndexService;
 
-    public TransactionContextBuilder(TransactionRepository transactionRepository, ObjectMapper objectMapper) {
+    @Value("${chat.transactions.window-days:90}")
+    private int windowDays;
+
+    @Value("${chat.transactions.page-size:20}")
+    private int pageSize;
+
+    public record TransactionRow(String id, String itemName, String type, int quantityChange, int amount,
+                                 String reason, String performedBy, String createdAt) {}
+
+    public record FilteredTransactions(String status, String summary, List<TransactionRow> data, int total,
+                                       int page, boolean hasMore) {}
+
+    public TransactionContextBuilder(TransactionRepository transactionRepository,
+                                     PerformerIndexService performerIndexService) {
         this.transactionRepository = transactionRepository;
-        this.objectMapper = objectMapper;
-        this.performerMatcher = new PerformerMatcher();
+        this.performerIndexService = performerIndexService;
     }
 
-    public String buildRecentTransactionsJsonFilteredByItemName(String tenantId, String itemNameFilter) throws Exception {
-        List<Map<String, Object>> raw = transactionRepository.findRecentTransactionsRaw(tenantId);
-        String filter = itemNameFilter != null ? itemNameFilter.trim().toLowerCase(Locale.ROOT) : "";
-
-        List<Map<String, Object>> data = raw.stream()
-                .filter(row -> row != null)
-                .filter(row -> {
-                    if (filter.isEmpty()) return true;
-                    Object itemName = row.get("itemName");
-                    return itemName != null && itemName.toString().toLowerCase(Locale.ROOT).contains(filter);
-                })
-                .map(row -> {
-                    Map<String, Object> m = new HashMap<>();
-                    Object id = row.get("id");
-                    Object itemName = row.get("itemName");
-                    Object type = row.get("type");
-                    Object qtyChange = row.get("quantityChange");
-                    Object reason = row.get("reason");
-                    Object performedBy = row.get("performedBy");
-                    Object createdAt = row.get("createdAt");
-
-                    m.put("id", id != null ? id.toString() : null);
-                    m.put("itemName", itemName);
-                    m.put("type", type);
-
-                    int qc = 0;
-                    if (qtyChange instanceof Number n) {
-                        qc = n.intValue();
-                    }
-                    m.put("quantityChange", qc);
-                    m.put("amount", Math.abs(qc));
-
-                    m.put("reason", reason);
-                    m.put("performedBy", performedBy);
-                    m.put("createdAt", createdAt != null ? createdAt.toString() : null);
-                    return m;
-                })
-                .collect(Collectors.toList());
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "success");
-        if (!filter.isEmpty()) {
-            result.put("summary", data.isEmpty() ? "No transactions found for '" + itemNameFilter + "'." : "Transactions for '" + itemNameFilter + "':");
-        } else {
-            result.put("summary", data.isEmpty() ? "No recent transactions found." : "Here are the recent stock movements:");
-        }
-        result.put("data", data);
-        result.put("total", data.size());
+    public FilteredTransactions recentTransactionsForItem(String tenantId, UUID itemId, String itemName) {
+        return recentTransactionsForItem(tenantId, itemId, itemName, 0);
+    }
 
-        return objectMapper.writeValueAsString(result);
+    public FilteredTransactions recentTransactionsForItem(String tenantId, UUID itemId, String itemName, int page) {
+        List<TransactionRow> data = toRows(transactionRepository.findTransactionsRawByItem(tenantId, itemId, since(), pageSize + 1, offset(page)));
+        String summary = data.isEmpty()
+                ? "No transactions found for '" + itemName + "' in the last " + windowDays + " days."
+                : "Transactions for '" + itemName + "':";
+        return result(summary, data, page);
     }
 
-    public String buildRecentTransactionsJsonFilteredByPerformedBy(String tenantId, String performedByFilter) throws Exception {
-        List<Map<String, Object>> raw = transactionRepository.findRecentTransactionsRaw(tenantId);
-        String filter = performedByFilter != null ? performedByFilter.trim().toLowerCase(Locale.ROOT) : "";
-
-        logger.info("performedBy filter requested tenant={} filterValue='{}' rawRows={}", tenantId, performedByFilter, raw != null ? raw.size() : 0);
-
-        List<Map<String, Object>> data = filterRecentTransactionsByPerformedByRaw(raw, filter);
-
-        if (!filter.isEmpty() && data.isEmpty()) {
-            List<String> distinctPerformers = transactionRepository.findDistinctPerformedBy(tenantId);
-            String matched = performerMatcher.matchPerformer(filter, distinctPerformers);
-            if (matched != null && !matched.trim().isBlank()) {
-                String matchedFilter = matched.trim().toLowerCase(Locale.ROOT);
-                if (!matchedFilter.equals(filter)) {
-                    logger.info("performedBy fuzzy match tenant={} input='{}' matched='{}'", tenantId, performedByFilter, matched);
-                    data = filterRecentTransactionsByPerformedByRaw(raw, matchedFilter);
-                    performedByFilter = matched;
-                    filter = matchedFilter;
-                }
-            }
+    public FilteredTransactions filterRecentTransactionsByItemName(String tenantId, String itemNameFilter) {
+        return filterRecentTransactionsByItemName(tenantId, itemNameFilter, 0);
+    }
+
+    public FilteredTransactions filterRecentTransactionsByItemName(String tenantId, String itemNameFilter, int page) {
+        String filter = itemNameFilter != null ? itemNameFilter.trim() : "";
+        if (filter.isEmpty()) {
+            return result("Please specify an item to filter by.", List.of(), page);
         }
 
-        logger.info("performedBy filter applied tenant={} effectiveFilter='{}' resultRows={}", tenantId, filter, data.size());
+        List<TransactionRow> data = toRows(transactionRepository.findTransactionsRawByItemName(tenantId, escapeLike(filter), since(), pageSize + 1, offset(page)));
+        String summary = data.isEmpty()
+                ? "No transactions found for '" + itemNameFilter + "' in the last " + windowDays + " days."
+                : "Transactions for '" + itemNameFilter + "':";
+        return result(summary, data, page);
+    }
+
+    public FilteredTransactions filterRecentTransactionsByPerformedBy(String tenantId, String performedByFilter) {
+        return filterRecentTransactionsByPerformedBy(tenantId, performedByFilter, 0);
+    }
+
+    public FilteredTransactions filterRecentTransactionsByPerformedBy(String tenantId, String performedByFilter, int page) {
+        String filter = performedByFilter != null ? performedByFilter.trim() : "";
+        if (filter.isEmpty()) {
+            return result("Please specify who performed the transactions.", List.of(), page);
+        }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "success");
-        if (!filter.isEmpty()) {
-            result.put("summary", data.isEmpty() ? "No transactions found performed by '" + performedByFilter + "'." : "Transactions performed by '" + performedByFilter + "':");
+        String matched = performerIndexService.match(tenantId, filter);
+        List<TransactionRow> data;
+        String label;
+        if (matched != null) {
+            if (!matched.equalsIgnoreCase(filter)) {
+                logger.info("performedBy fuzzy match tenant={} input='{}' matched='{}'", tenantId, performedByFilter, matched);
+            }
+            data = toRows(transactionRepository.findTransactionsRawByPerformer(tenantId, matched, since(), pageSize + 1, offset(page)));
+            label = matched;
         } else {
-            result.put("summary", data.isEmpty() ? "No recent transactions found." : "Here are the recent stock movements:");
+            data = toRows(transactionRepository.findTransactionsRawByPerformerLike(tenantId, escapeLike(filter), since(), pageSize + 1, offset(page)));
+            label = performedByFilter;
         }
-        result.put("data", data);
-        result.put("total", data.size());
 
-        return objectMapper.writeValueAsString(result);
+        logger.info("performedBy filter applied tenant={} effectiveFilter='{}' resultRows={}", tenantId, label, data.size());
+
+        String summary = data.isEmpty()
+                ? "No transactions found performed by '" + label + "' in the last " + windowDays + " days."
+                : "Transactions performed by '" + label + "':";
+        return result(summary, data, page);
+    }
+
+    private int offset(int page) {
+        return Math.max(page, 0) * pageSize;
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private LocalDateTime since() {
+        return LocalDateTime.now().minusDays(windowDays);
+    }
+
+    private FilteredTransactions result(String summary, List<TransactionRow> data, int page) {
+        boolean hasMore = data.size() > pageSize;
+        List<TransactionRow> rows = hasMore ? data.subList(0, pageSize) : data;
+        return new FilteredTransactions("success", summary, rows, rows.size(), page, hasMore);
     }
 
-    private List<Map<String, Object>> filterRecentTransactionsByPerformedByRaw(List<Map<String, Object>> raw, String filter) {
+    private List<TransactionRow> toRows(List<Map<String, Object>> raw) {
         if (raw == null) return List.of();
 
         return raw.stream()
-                .filter(row -> row != null)
-                .filter(row -> {
-                    if (filter == null || filter.isBlank()) return true;
-                    Object performedBy = row.get("performedBy");
-                    return performedBy != null && performedBy.toString().toLowerCase(Locale.ROOT).contains(filter);
-                })
-                .map(row -> {
-                    Map<String, Object> m = new HashMap<>();
-                    Object id = row.get("id");
-                    Object itemName = row.get("itemName");
-                    Object type = row.get("type");
-                    Object qtyChange = row.get("quantityChange");
-                    Object reason = row.get("reason");
-                    Object performedBy = row.get("performedBy");
-                    Object createdAt = row.get("createdAt");
-
-                    m.put("id", id != null ? id.toString() : null);
-                    m.put("itemName", itemName);
-                    m.put("type", type);
-
-                    int qc = 0;
-                    if (qtyChange instanceof Number n) {
-                        qc = n.intValue();
-                    }
-                    m.put("quantityChange", qc);
-                    m.put("amount", Math.abs(qc));
-
-                    m.put("reason", reason);
-                    m.put("performedBy", performedBy);
-                    m.put("createdAt", createdAt != null ? createdAt.toString() : null);
-                    return m;
-                })
-                .collect(Collectors.toList());
+                .filter(Objects::nonNull)
+                .map(this::toRow)
+                .toList();
+    }
+
+    private TransactionRow toRow(Map<String, Object> row) {
+        int quantityChange = row.get("quantityChange") instanceof Number n ? n.intValue() : 0;
+        return new TransactionRow(
+                asString(row.get("id")),
+                asString(row.get("itemName")),
+                asString(row.get("type")),
+                quantityChange,
+                Math.abs(quantityChange),
+                asString(row.get("reason")),
+                asString(row.get("performedBy")),
+                asString(row.get("createdAt")));
+    }
+
+    private String asString(Object value) {
+        return value != null ? value.toString() : null;
     }
 }
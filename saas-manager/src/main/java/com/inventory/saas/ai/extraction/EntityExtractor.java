@@ -2,98 +2,178 @@ package com.inventory.saas.ai.extraction;
 
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class EntityExtractor {
 
+    private static final Set<String> NOISE = Set.of(
+            "only", "just", "show", "me", "made", "user", "please", "pls", "transactions",
+            "transaction", "history", "movement", "movements", "performed", "by", "for", "of"
+    );
+
+    private static final Set<String> NOT_AN_ITEM = Set.of(
+            "transactions", "transaction", "history", "show", "stock", "levels", "movements"
+    );
+
+    private static final int INITIAL_TOKENS = 16;
+
+    private static final class Tokens {
+        private int count;
+        private int page = -1;
+        private int[] start = new int[INITIAL_TOKENS];
+        private int[] end = new int[INITIAL_TOKENS];
+        private int[] clause = new int[INITIAL_TOKENS];
+        private String[] lower = new String[INITIAL_TOKENS];
+
+        private void add(String text, int from, int to, int clauseIndex) {
+            if (count == start.length) {
+                int size = count * 2;
+                start = Arrays.copyOf(start, size);
+                end = Arrays.copyOf(end, size);
+                clause = Arrays.copyOf(clause, size);
+                lower = Arrays.copyOf(lower, size);
+            }
+            start[count] = from;
+            end[count] = to;
+            clause[count] = clauseIndex;
+            lower[count] = text.substring(from, to).toLowerCase(Locale.ROOT);
+            count++;
+        }
+
+        private String[] lowerTokens() {
+            return Arrays.copyOf(lower, count);
+        }
+
+        private boolean isPageReference(int index) {
+            return page >= 0 && (index == page || index == page + 1);
+        }
+    }
+
     public Map<String, String> extractBasicEntities(String userMessage) {
+        return extractEntities(userMessage, ItemCatalog.EMPTY);
+    }
+
+    public Map<String, String> extractEntities(String userMessage, ItemCatalog catalog) {
         Map<String, String> entities = new HashMap<>();
+        if (userMessage == null || userMessage.isBlank()) return entities;
 
-        String byTail = extractTailAfterKeyword(userMessage, "by");
-        if (byTail != null) {
-            String cleaned = cleanNoisePhrase(byTail);
-            if (!cleaned.isBlank()) {
-                entities.put("filterType", "performedBy");
-                entities.put("filterValue", cleaned);
-                entities.put("personName", cleaned);
+        Tokens tokens = scan(userMessage);
+        for (int i = 0; i < tokens.count - 1; i++) {
+            if ("page".equals(tokens.lower[i]) && isNumber(tokens.lower[i + 1])) {
+                tokens.page = i;
+                entities.put("page", tokens.lower[i + 1]);
+                break;
             }
         }
 
-        if (!entities.containsKey("filterValue")) {
-            String forTail = extractTailAfterKeyword(userMessage, "for");
-            String ofTail = extractTailAfterKeyword(userMessage, "of");
-            String tail = forTail != null ? forTail : ofTail;
-            if (tail != null) {
-                String cleaned = cleanNoisePhrase(tail);
-                if (!cleaned.isBlank()) {
-                    entities.put("filterType", "itemName");
-                    entities.put("filterValue", cleaned);
-                }
-            }
+        String performer = tailAfter(userMessage, tokens, "by");
+        if (performer != null) {
+            entities.put("filterType", "performedBy");
+            entities.put("filterValue", performer);
+            entities.put("personName", performer);
         }
 
-        String[] words = userMessage != null ? userMessage.split("\\s+") : new String[0];
-        for (String word : words) {
-            if (word.length() <= 2 || !Character.isUpperCase(word.charAt(0))) continue;
-            String cleaned = word.replaceAll("[^A-Za-z]", "");
-            if (cleaned.isBlank()) continue;
+        ItemCatalog.Match item = catalog != null && !catalog.isEmpty() ? catalog.find(tokens.lowerTokens()) : null;
+        if (item != null) {
+            entities.put("itemId", item.itemId().toString());
+            entities.put("itemName", item.itemName());
+            if (performer == null) {
+                entities.put("filterType", "itemName");
+                entities.put("filterValue", item.itemName());
+            }
+            return entities;
+        }
 
-            String lower = cleaned.toLowerCase(Locale.ROOT);
-            if ("transactions".equals(lower) || "transaction".equals(lower) || "history".equals(lower) ||
-                    "show".equals(lower) || "stock".equals(lower) || "levels".equals(lower) || "movements".equals(lower)) {
-                continue;
+        if (performer == null) {
+            String tail = tailAfter(userMessage, tokens, "for");
+            if (tail == null) tail = tailAfter(userMessage, tokens, "of");
+            if (tail != null) {
+                entities.put("filterType", "itemName");
+                entities.put("filterValue", tail);
             }
+        }
+
+        for (int i = 0; i < tokens.count; i++) {
+            if (tokens.isPageReference(i)) continue;
+            if (tokens.end[i] - tokens.start[i] <= 2 || !Character.isUpperCase(userMessage.charAt(tokens.start[i]))) continue;
+            String word = lettersOnly(userMessage, tokens.start[i], tokens.end[i]);
+            if (word.isEmpty() || NOT_AN_ITEM.contains(word.toLowerCase(Locale.ROOT))) continue;
 
             if (!entities.containsKey("filterValue")) {
                 entities.put("filterType", "itemName");
-                entities.put("filterValue", cleaned);
+                entities.put("filterValue", word);
             }
-            if (!entities.containsKey("itemName") || cleaned.length() > entities.get("itemName").length()) {
-                entities.put("itemName", cleaned);
+            String current = entities.get("itemName");
+            if (current == null || word.length() > current.length()) {
+                entities.put("itemName", word);
             }
         }
 
         return entities;
     }
 
-    private String extractTailAfterKeyword(String message, String keyword) {
-        if (message == null || keyword == null || keyword.isBlank()) return null;
-        Pattern p = Pattern.compile("\\b" + Pattern.quote(keyword) + "\\b\\s+([^\\n\\r\\.!?;:]+)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = p.matcher(message);
-        if (!matcher.find()) return null;
-        String tail = matcher.group(1);
+    static String[] tokenize(String text) {
+        return text == null ? new String[0] : scan(text).lowerTokens();
+    }
+
+    private static Tokens scan(String text) {
+        Tokens tokens = new Tokens();
+        int clause = 0;
+        int tokenStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || ((c == '\'' || c == '-') && tokenStart >= 0)) {
+                if (tokenStart < 0) tokenStart = i;
+                continue;
+            }
+            if (tokenStart >= 0) {
+                tokens.add(text, tokenStart, i, clause);
+                tokenStart = -1;
+            }
+            if (isClauseBreak(c)) clause++;
+        }
+        return tokens;
+    }
+
+    private static String tailAfter(String text, Tokens tokens, String keyword) {
+        for (int i = 0; i < tokens.count - 1; i++) {
+            if (!keyword.equals(tokens.lower[i])) continue;
 
-        if (tail == null) return null;
-        return tail.trim();
+            StringBuilder kept = new StringBuilder();
+            for (int j = i + 1; j < tokens.count && tokens.clause[j] == tokens.clause[i]; j++) {
+                if (NOISE.contains(tokens.lower[j]) || tokens.isPageReference(j)) continue;
+                if (!kept.isEmpty()) kept.append(' ');
+                kept.append(text, tokens.start[j], tokens.end[j]);
+            }
+            return kept.isEmpty() ? null : kept.toString();
+        }
+        return null;
+    }
+
+    private static String lettersOnly(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isLetter(text.charAt(i))) {
+                StringBuilder sb = new StringBuilder(to - from);
+                for (int j = from; j < to; j++) {
+                    char c = text.charAt(j);
+                    if (Character.isLetter(c)) sb.append(c);
+                }
+                return sb.toString();
+            }
+        }
+        return text.substring(from, to);
+    }
+
+    private static boolean isNumber(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) return false;
+        }
+        return !token.isEmpty();
     }
 
-    private String cleanNoisePhrase(String phrase) {
-        if (phrase == null) return "";
-        String normalized = phrase
-                .replaceAll("[\\(\\)\\[\\]{}]", " ")
-                .replaceAll("[^A-Za-z0-9\\s'-]", " ")
-                .replaceAll("\\s+", " ")
-                .trim();
-        if (normalized.isBlank()) return "";
-
-        Set<String> noise = new LinkedHashSet<>(Arrays.asList(
-                "only", "just", "show", "me", "made", "user", "please", "pls", "transactions",
-                "transaction", "history", "movement", "movements", "performed", "by", "for", "of"
-        ));
-
-        List<String> kept = Arrays.stream(normalized.split("\\s+"))
-                .map(String::trim)
-                .filter(s -> !s.isBlank())
-                .filter(s -> !noise.contains(s.toLowerCase(Locale.ROOT)))
-                .collect(Collectors.toList());
-
-        return String.join(" ", kept).trim();
+    private static boolean isClauseBreak(char c) {
+        return c == '\n' || c == '\r' || c == '.' || c == '!' || c == '?' || c == ';' || c == ':';
     }
 }
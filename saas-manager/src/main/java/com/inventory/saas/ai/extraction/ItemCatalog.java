@@ -0,0 +1,99 @@
+package com.inventory.saas.ai.extraction;
+
+import com.inventory.saas.model.InventoryItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+public final class ItemCatalog {
+
+    public static final ItemCatalog EMPTY = new ItemCatalog(Map.of(), Map.of(), 0);
+
+    private static final int MIN_NAME_CHARS = 3;
+
+    public record Match(UUID itemId, String itemName, int firstToken, int lastToken) {}
+
+    private record Entry(UUID id, String name, String[] tokens, int chars) {}
+
+    private final Map<String, List<Entry>> byFirstToken;
+    private final Map<String, Entry> bySku;
+    private final int size;
+
+    private ItemCatalog(Map<String, List<Entry>> byFirstToken, Map<String, Entry> bySku, int size) {
+        this.byFirstToken = byFirstToken;
+        this.bySku = bySku;
+        this.size = size;
+    }
+
+    public static ItemCatalog of(Collection<InventoryItem> items) {
+        Map<String, List<Entry>> byFirstToken = new HashMap<>();
+        Map<String, Entry> bySku = new HashMap<>();
+        int size = 0;
+
+        for (InventoryItem item : items) {
+            if (item == null || item.getId() == null || item.getName() == null) continue;
+            String[] tokens = EntityExtractor.tokenize(item.getName());
+            int chars = 0;
+            for (String token : tokens) chars += token.length();
+            if (tokens.length == 0 || chars < MIN_NAME_CHARS) continue;
+
+            Entry entry = new Entry(item.getId(), item.getName().trim(), tokens, chars);
+            byFirstToken.computeIfAbsent(tokens[0], k -> new ArrayList<>(1)).add(entry);
+            if (item.getSku() != null && !item.getSku().isBlank()) {
+                bySku.putIfAbsent(item.getSku().trim().toLowerCase(Locale.ROOT), entry);
+            }
+            size++;
+        }
+        return new ItemCatalog(byFirstToken, bySku, size);
+    }
+
+    public Match find(String[] tokens) {
+        Entry best = null;
+        int bestStart = -1;
+        int bestLength = 0;
+        int bestChars = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            Entry skuHit = bySku.get(tokens[i]);
+            if (skuHit != null && bestLength < 1) {
+                best = skuHit;
+                bestStart = i;
+                bestLength = 1;
+                bestChars = Integer.MAX_VALUE;
+            }
+
+            List<Entry> candidates = byFirstToken.get(tokens[i]);
+            if (candidates == null) continue;
+            for (Entry candidate : candidates) {
+                int length = candidate.tokens().length;
+                if (length < bestLength || (length == bestLength && candidate.chars() <= bestChars)) continue;
+                if (!matchesAt(tokens, i, candidate.tokens())) continue;
+                best = candidate;
+                bestStart = i;
+                bestLength = length;
+                bestChars = candidate.chars();
+            }
+        }
+        return best == null ? null : new Match(best.id(), best.name(), bestStart, bestStart + bestLength - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static boolean matchesAt(String[] tokens, int start, String[] phrase) {
+        if (start + phrase.length > tokens.length) return false;
+        for (int j = 1; j < phrase.length; j++) {
+            if (!tokens[start + j].equals(phrase[j])) return false;
+        }
+        return true;
+    }
+}
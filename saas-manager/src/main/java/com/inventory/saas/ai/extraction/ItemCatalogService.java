@@ -0,0 +1,51 @@
+package com.inventory.saas.ai.extraction;
+
+import com.inventory.saas.config.CacheConfig;
+import com.inventory.saas.repository.InventoryRepository;
+import com.inventory.saas.service.TenantDataVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ItemCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemCatalogService.class);
+
+    private record CatalogSnapshot(ItemCatalog catalog, long version) {}
+
+    private final InventoryRepository inventoryRepository;
+    private final TenantDataVersionService dataVersionService;
+    private final CacheManager cacheManager;
+
+    public ItemCatalogService(InventoryRepository inventoryRepository,
+                              TenantDataVersionService dataVersionService,
+                              CacheManager cacheManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.dataVersionService = dataVersionService;
+        this.cacheManager = cacheManager;
+    }
+
+    public ItemCatalog catalogFor(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) return ItemCatalog.EMPTY;
+
+        long version = dataVersionService.current(tenantId);
+        Cache cache = cacheManager.getCache(CacheConfig.ITEM_CATALOG_CACHE);
+        CatalogSnapshot snapshot = cache != null ? cache.get(tenantId, CatalogSnapshot.class) : null;
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot.catalog();
+        }
+
+        try {
+            ItemCatalog catalog = ItemCatalog.of(inventoryRepository.findAllByTenantId(tenantId));
+            if (cache != null) cache.put(tenantId, new CatalogSnapshot(catalog, version));
+            logger.debug("Rebuilt item catalog tenant={} version={} items={}", tenantId, version, catalog.size());
+            return catalog;
+        } catch (Exception e) {
+            logger.warn("Could not load item catalog for tenant {}: {}", tenantId, e.getMessage());
+            return snapshot != null ? snapshot.catalog() : ItemCatalog.EMPTY;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.inventory.saas.ai.format;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.saas.ai.model.Intent;
+
+import java.util.List;
+import java.util.Map;
+
+public class ChatResponseFormatter {
+
+    private final ObjectMapper objectMapper;
+
+    public ChatResponseFormatter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public String wrapToolResult(Intent intent, Map<String, String> entities, Object toolData) throws JsonProcessingException {
+        return wrap(intent, entities, renderData(intent, toolData));
+    }
+
+    public String wrap(Intent intent, Map<String, String> entities, String dataJson) throws JsonProcessingException {
+        String debug = objectMapper.writeValueAsString(Map.of(
+                "intent", intent.name(),
+                "entities", entities != null ? entities : Map.of()
+        ));
+        return "```json\n{\"debug\":" + debug + ",\"data\":" + dataJson + "}\n```";
+    }
+
+    public String renderData(Intent intent, Object toolData) throws JsonProcessingException {
+        Object data;
+        if (toolData instanceof Map<?, ?> || toolData instanceof Record) {
+            data = toolData;
+        } else if (toolData instanceof List<?> list) {
+            data = Map.of(
+                    "summary", defaultSummary(intent),
+                    "data", list
+            );
+        } else if (toolData instanceof String s) {
+            data = Map.of(
+                    "summary", s,
+                    "data", List.of()
+            );
+        } else {
+            data = Map.of(
+                    "summary", defaultSummary(intent),
+                    "data", List.of()
+            );
+        }
+        return objectMapper.writeValueAsString(data);
+    }
+
+    public String wrapText(Intent intent, Map<String, String> entities, String message) {
+        try {
+            return wrapToolResult(intent, entities, Map.of(
+                    "summary", message
+            ));
+        } catch (JsonProcessingException e) {
+            return message;
+        }
+    }
+
+    private String defaultSummary(Intent intent) {
+        return switch (intent) {
+            case STOCK_SUMMARY -> "Current inventory status:";
+            case RECENT_TRANSACTIONS -> "Here are the recent stock movements:";
+            case FORECAST_QUERIES -> "Inventory forecasts:";
+            case LOW_STOCK -> "Low stock items:";
+            case FILTERED_TRANSACTIONS -> "Filtered transactions:";
+            default -> "";
+        };
+    }
+}
@@ -2,34 +2,109 @@ package com.inventory.saas.ai.intent;
 
 import com.inventory.saas.ai.model.Intent;
 
-import java.util.Locale;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 public class IntentClassifier {
 
-    public Intent classifyBasicIntent(String userMessage) {
-        if (userMessage == null) return Intent.OTHER;
-        String m = userMessage.toLowerCase(Locale.ROOT);
+    public static final String DEFAULT_PHRASE_TABLE = "ai/intent-phrases.txt";
 
-        if ((m.contains("transaction") || m.contains("transactions") || m.contains("history")) && (m.contains(" for ") || m.contains(" of ") || m.contains(" by "))) {
-            return Intent.FILTERED_TRANSACTIONS;
-        }
+    private static final Intent[] INTENTS = Intent.values();
+    private static final double MIN_SCORE = 0.5;
+
+    public record IntentPhrase(Intent intent, double weight, boolean boost, String phrase) {}
+
+    public record ScoredIntent(Intent intent, double score, double confidence) {}
+
+    public record Classification(List<ScoredIntent> ranked) {
 
-        if (m.contains("recent") || m.contains("recent movements") || m.contains("movements") || m.contains("activity")) {
-            return Intent.RECENT_TRANSACTIONS;
+        public Intent best() {
+            return ranked.isEmpty() ? Intent.OTHER : ranked.get(0).intent();
         }
 
-        if (m.contains("low stock") || m.contains("restock") || m.contains("restocking")) {
-            return Intent.LOW_STOCK;
+        public double confidence() {
+            return ranked.isEmpty() ? 1.0 : ranked.get(0).confidence();
         }
+    }
+
+    private final List<IntentPhrase> phrases;
+    private final KeywordAutomaton automaton;
+
+    public IntentClassifier() {
+        this(loadPhraseTable(DEFAULT_PHRASE_TABLE));
+    }
+
+    public IntentClassifier(List<IntentPhrase> phrases) {
+        this.phrases = List.copyOf(phrases);
+        this.automaton = KeywordAutomaton.compile(this.phrases.stream().map(IntentPhrase::phrase).toList());
+    }
+
+    public Intent classifyBasicIntent(String userMessage) {
+        return classify(userMessage).best();
+    }
+
+    public Classification classify(String userMessage) {
+        if (userMessage == null || userMessage.isBlank()) return new Classification(List.of());
 
-        if (m.contains("stock level") || m.contains("stock levels") || m.contains("stock") || m.contains("inventory") || m.contains("in stock") || m.contains("what do i have")) {
-            return Intent.STOCK_SUMMARY;
+        double[] base = new double[INTENTS.length];
+        double[] boosts = new double[INTENTS.length];
+        automaton.scan(userMessage, (patternId, start, end) -> {
+            IntentPhrase phrase = phrases.get(patternId);
+            if (phrase.boost()) {
+                boosts[phrase.intent().ordinal()] += phrase.weight();
+            } else {
+                base[phrase.intent().ordinal()] += phrase.weight();
+            }
+        });
+
+        double total = 0;
+        for (int i = 0; i < INTENTS.length; i++) {
+            if (base[i] > 0) base[i] += boosts[i];
+            total += base[i];
         }
+        if (total < MIN_SCORE) return new Classification(List.of());
 
-        if (m.contains("forecast") || m.contains("runout") || m.contains("run out")) {
-            return Intent.FORECAST_QUERIES;
+        List<ScoredIntent> ranked = new ArrayList<>(INTENTS.length);
+        for (int i = 0; i < INTENTS.length; i++) {
+            if (base[i] >= MIN_SCORE) {
+                ranked.add(new ScoredIntent(INTENTS[i], base[i], base[i] / total));
+            }
         }
+        ranked.sort(Comparator.comparingDouble(ScoredIntent::score).reversed()
+                .thenComparing(s -> s.intent().ordinal()));
+        return new Classification(ranked);
+    }
+
+    public static List<IntentPhrase> loadPhraseTable(String resource) {
+        InputStream in = IntentClassifier.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) throw new IllegalStateException("Intent phrase table not found on classpath: " + resource);
 
-        return Intent.OTHER;
+        List<IntentPhrase> phrases = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] parts = line.split("\\s+", 3);
+                if (parts.length < 3) {
+                    throw new IllegalStateException("Malformed intent phrase at " + resource + ":" + lineNumber);
+                }
+                boolean boost = parts[1].startsWith("+");
+                phrases.add(new IntentPhrase(Intent.valueOf(parts[0]), Double.parseDouble(parts[1]), boost, parts[2].strip()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return phrases;
     }
 }
@@ -0,0 +1,138 @@
+package com.inventory.saas.ai.intent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+
+public final class KeywordAutomaton {
+
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(int patternId, int start, int end);
+    }
+
+    private static final int ASCII = 128;
+
+    private final int[] charClass;
+    private final int alphabetSize;
+    private final int[][] transitions;
+    private final int[][] outputs;
+    private final int[] patternLengths;
+
+    private KeywordAutomaton(int[] charClass, int alphabetSize, int[][] transitions, int[][] outputs, int[] patternLengths) {
+        this.charClass = charClass;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.patternLengths = patternLengths;
+    }
+
+    public static KeywordAutomaton compile(List<String> patterns) {
+        int[] charClass = new int[ASCII];
+        int alphabetSize = 1;
+        int[] lengths = new int[patterns.size()];
+        String[] normalized = new String[patterns.size()];
+
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p).toLowerCase(Locale.ROOT);
+            if (pattern.isEmpty()) throw new IllegalArgumentException("Empty keyword at index " + p);
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c >= ASCII) throw new IllegalArgumentException("Keyword must be ASCII: " + pattern);
+                if (charClass[c] == 0) charClass[c] = alphabetSize++;
+            }
+            normalized[p] = pattern;
+            lengths[p] = pattern.length();
+        }
+
+        List<int[]> goTo = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        goTo.add(newRow(alphabetSize));
+        out.add(new ArrayList<>());
+
+        for (int p = 0; p < normalized.length; p++) {
+            int state = 0;
+            for (int i = 0; i < normalized[p].length(); i++) {
+                int symbol = charClass[normalized[p].charAt(i)];
+                if (goTo.get(state)[symbol] < 0) {
+                    goTo.get(state)[symbol] = goTo.size();
+                    goTo.add(newRow(alphabetSize));
+                    out.add(new ArrayList<>());
+                }
+                state = goTo.get(state)[symbol];
+            }
+            out.get(state).add(p);
+        }
+
+        int[] fail = new int[goTo.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = goTo.get(0)[symbol];
+            if (next < 0) {
+                goTo.get(0)[symbol] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = goTo.get(state)[symbol];
+                if (next < 0) {
+                    goTo.get(state)[symbol] = goTo.get(fail[state])[symbol];
+                } else {
+                    fail[next] = goTo.get(fail[state])[symbol];
+                    queue.add(next);
+                }
+            }
+        }
+
+        int[][] transitions = goTo.toArray(new int[0][]);
+        int[][] outputs = new int[out.size()][];
+        for (int s = 0; s < out.size(); s++) {
+            outputs[s] = out.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new KeywordAutomaton(charClass, alphabetSize, transitions, outputs, lengths);
+    }
+
+    public void scan(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int symbol = c < ASCII ? charClass[c] : 0;
+            state = transitions[state][symbol];
+
+            int[] matched = outputs[state];
+            for (int p : matched) {
+                int start = i - patternLengths[p] + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    handler.onMatch(p, start, i + 1);
+                }
+            }
+        }
+    }
+
+    public int stateCount() {
+        return transitions.length;
+    }
+
+    public int alphabetSize() {
+        return alphabetSize;
+    }
+
+    private static boolean isBoundary(CharSequence text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static int[] newRow(int size) {
+        int[] row = new int[size];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,103 @@
+package com.inventory.saas.ai.llm;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public class LlmCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failuresInWindow;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public LlmCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, System::nanoTime);
+    }
+
+    LlmCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration, LongSupplier clock) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+        this.outcomes = new boolean[this.windowSize];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) return false;
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) return false;
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && (double) failuresInWindow / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) return State.HALF_OPEN;
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[next]) failuresInWindow--;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) failuresInWindow++;
+        next = (next + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        recorded = 0;
+        next = 0;
+        failuresInWindow = 0;
+    }
+}
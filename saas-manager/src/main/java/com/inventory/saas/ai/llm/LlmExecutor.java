@@ -0,0 +1,223 @@
+package com.inventory.saas.ai.llm;
+
+import com.inventory.saas.config.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+public class LlmExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmExecutor.class);
+    private static final String NO_TENANT = "_none";
+
+    public record Settings(int maxConcurrent, int maxConcurrentPerTenant, Duration acquireTimeout, Duration callTimeout) {}
+
+    private final Executor callExecutor;
+    private final Settings settings;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final Semaphore globalPermits;
+    private final ConcurrentHashMap<String, Semaphore> tenantPermits = new ConcurrentHashMap<>();
+    private final LlmExecutorStats stats = new LlmExecutorStats();
+
+    public LlmExecutor(Executor callExecutor, Settings settings, LlmCircuitBreaker circuitBreaker) {
+        this.callExecutor = callExecutor;
+        this.settings = settings;
+        this.circuitBreaker = circuitBreaker;
+        this.globalPermits = new Semaphore(settings.maxConcurrent());
+    }
+
+    public <T> T call(String tenantId, String operation, Supplier<T> call) {
+        stats.calls.increment();
+        if (!circuitBreaker.tryAcquire()) {
+            stats.shortCircuited.increment();
+            throw new LlmUnavailableException(LlmUnavailableException.Reason.CIRCUIT_OPEN,
+                    "AI provider is temporarily unavailable. Please try again shortly.", null);
+        }
+
+        Permit permit = acquire(tenantId, operation);
+        String contextTenant = TenantContext.getTenantId();
+        long start = System.nanoTime();
+
+        AtomicBoolean started = new AtomicBoolean();
+        FutureTask<T> future = new FutureTask<>(() -> {
+            if (!started.compareAndSet(false, true)) return null;
+            try {
+                return TenantContext.callWithTenant(contextTenant, call);
+            } finally {
+                permit.release();
+            }
+        });
+        try {
+            callExecutor.execute(future);
+        } catch (RejectedExecutionException e) {
+            permit.release();
+            circuitBreaker.onIgnored();
+            stats.rejected.increment();
+            throw new LlmUnavailableException(LlmUnavailableException.Reason.BULKHEAD_FULL,
+                    "AI capacity is exhausted. Please try again shortly.", e);
+        }
+
+        try {
+            T result = future.get(settings.callTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            stats.successes.increment();
+            return result;
+        } catch (TimeoutException e) {
+            cancel(future, started, permit);
+            circuitBreaker.onFailure();
+            stats.timeouts.increment();
+            logger.warn("LLM call '{}' for tenant {} timed out after {}", operation, tenantId, settings.callTimeout());
+            throw new LlmUnavailableException(LlmUnavailableException.Reason.TIMEOUT,
+                    "AI provider did not respond in time. Please try again shortly.", e);
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            stats.failures.increment();
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warn("LLM call '{}' for tenant {} failed: {}", operation, tenantId, cause.getMessage());
+            throw new LlmUnavailableException(LlmUnavailableException.Reason.FAILED,
+                    "AI provider request failed. Please try again shortly.", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(future, started, permit);
+            circuitBreaker.onIgnored();
+            throw new LlmUnavailableException(LlmUnavailableException.Reason.FAILED, "Interrupted while waiting for AI provider", e);
+        } finally {
+            stats.totalLatencyMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    public <T> Flux<T> stream(String tenantId, String operation, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            stats.calls.increment();
+            if (!circuitBreaker.tryAcquire()) {
+                stats.shortCircuited.increment();
+                return Flux.error(new LlmUnavailableException(LlmUnavailableException.Reason.CIRCUIT_OPEN,
+                        "AI provider is temporarily unavailable. Please try again shortly.", null));
+            }
+
+            Permit permit;
+            try {
+                permit = tryAcquireNow(tenantId);
+            } catch (LlmUnavailableException e) {
+                circuitBreaker.onIgnored();
+                return Flux.error(e);
+            }
+
+            long start = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            Runnable finish = () -> {
+                if (permit.release()) {
+                    stats.totalLatencyMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            };
+            return call.get()
+                    .timeout(settings.callTimeout())
+                    .doOnComplete(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.onSuccess();
+                            stats.successes.increment();
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (!settled.compareAndSet(false, true)) return;
+                        circuitBreaker.onFailure();
+                        if (error instanceof TimeoutException) {
+                            stats.timeouts.increment();
+                            logger.warn("LLM stream '{}' for tenant {} stalled for {}", operation, tenantId, settings.callTimeout());
+                        } else {
+                            stats.failures.increment();
+                            logger.warn("LLM stream '{}' for tenant {} failed: {}", operation, tenantId, error.getMessage());
+                        }
+                    })
+                    .onErrorMap(TimeoutException.class, e -> new LlmUnavailableException(LlmUnavailableException.Reason.TIMEOUT,
+                            "AI provider did not respond in time. Please try again shortly.", e))
+                    .doOnTerminate(finish)
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) circuitBreaker.onIgnored();
+                        finish.run();
+                    });
+        });
+    }
+
+    public LlmExecutorStats.Snapshot getStats() {
+        return stats.snapshot(settings.maxConcurrent() - globalPermits.availablePermits(), circuitBreaker.state());
+    }
+
+    public LlmCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private Permit acquire(String tenantId, String operation) {
+        Semaphore tenant = tenantSemaphore(tenantId);
+        long waitMillis = settings.acquireTimeout().toMillis();
+        try {
+            if (tenant.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                if (globalPermits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                    return new Permit(tenant);
+                }
+                tenant.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        circuitBreaker.onIgnored();
+        stats.rejected.increment();
+        logger.warn("LLM bulkhead full for tenant {} ({}); global in-flight {}", tenantId, operation,
+                settings.maxConcurrent() - globalPermits.availablePermits());
+        throw new LlmUnavailableException(LlmUnavailableException.Reason.BULKHEAD_FULL,
+                "Too many AI requests in progress. Please try again shortly.", null);
+    }
+
+    private Permit tryAcquireNow(String tenantId) {
+        Semaphore tenant = tenantSemaphore(tenantId);
+        if (tenant.tryAcquire()) {
+            if (globalPermits.tryAcquire()) {
+                return new Permit(tenant);
+            }
+            tenant.release();
+        }
+        stats.rejected.increment();
+        throw new LlmUnavailableException(LlmUnavailableException.Reason.BULKHEAD_FULL,
+                "Too many AI requests in progress. Please try again shortly.", null);
+    }
+
+    private Semaphore tenantSemaphore(String tenantId) {
+        String key = tenantId != null && !tenantId.isBlank() ? tenantId : NO_TENANT;
+        return tenantPermits.computeIfAbsent(key, k -> new Semaphore(settings.maxConcurrentPerTenant()));
+    }
+
+    private void cancel(FutureTask<?> future, AtomicBoolean started, Permit permit) {
+        future.cancel(true);
+        if (started.compareAndSet(false, true)) {
+            permit.release();
+        }
+    }
+
+    private final class Permit {
+        private final Semaphore tenant;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore tenant) {
+            this.tenant = tenant;
+        }
+
+        private boolean release() {
+            if (!released.compareAndSet(false, true)) return false;
+            globalPermits.release();
+            tenant.release();
+            return true;
+        }
+    }
+}
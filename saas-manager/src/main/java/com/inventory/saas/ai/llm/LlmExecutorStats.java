@@ -0,0 +1,28 @@
+package com.inventory.saas.ai.llm;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class LlmExecutorStats {
+
+    public record Snapshot(long calls, long successes, long failures, long timeouts, long rejected,
+                           long shortCircuited, long totalLatencyMillis, int inFlight, LlmCircuitBreaker.State circuitState) {
+
+        public double averageLatencyMillis() {
+            long completed = successes + failures + timeouts;
+            return completed == 0 ? 0.0 : (double) totalLatencyMillis / completed;
+        }
+    }
+
+    final LongAdder calls = new LongAdder();
+    final LongAdder successes = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder timeouts = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LongAdder shortCircuited = new LongAdder();
+    final LongAdder totalLatencyMillis = new LongAdder();
+
+    Snapshot snapshot(int inFlight, LlmCircuitBreaker.State circuitState) {
+        return new Snapshot(calls.sum(), successes.sum(), failures.sum(), timeouts.sum(), rejected.sum(),
+                shortCircuited.sum(), totalLatencyMillis.sum(), inFlight, circuitState);
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.saas.ai.llm;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class LlmUnavailableException extends ResponseStatusException {
+
+    public enum Reason { CIRCUIT_OPEN, BULKHEAD_FULL, TIMEOUT, FAILED }
+
+    private final Reason failureReason;
+
+    public LlmUnavailableException(Reason failureReason, String message, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message, cause);
+        this.failureReason = failureReason;
+    }
+
+    public Reason getFailureReason() {
+        return failureReason;
+    }
+}
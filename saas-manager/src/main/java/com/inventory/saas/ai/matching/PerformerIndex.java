@@ -0,0 +1,275 @@
+package com.inventory.saas.ai.matching;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class PerformerIndex {
+
+    private static final int MAX_TOKEN_DISTANCE = 2;
+
+    private final Map<String, String> byLowerName = new HashMap<>();
+    private final NavigableMap<String, Integer> idsByLowerName = new TreeMap<>();
+    private final List<String> lowerNames = new ArrayList<>();
+    private final Map<String, List<Integer>> trigrams = new HashMap<>();
+    private final Map<String, List<Integer>> namesByToken = new HashMap<>();
+    private final BkTree tokenTree = new BkTree();
+    private final long builtAtMillis;
+
+    public PerformerIndex(Collection<String> performers) {
+        this.builtAtMillis = System.currentTimeMillis();
+        if (performers != null) {
+            performers.forEach(this::addInternal);
+        }
+    }
+
+    public synchronized void add(String performer) {
+        addInternal(performer);
+    }
+
+    public synchronized int size() {
+        return lowerNames.size();
+    }
+
+    public long builtAtMillis() {
+        return builtAtMillis;
+    }
+
+    public synchronized String match(String filter) {
+        if (filter == null) return null;
+        String f = filter.trim().toLowerCase(Locale.ROOT);
+        if (f.isBlank() || lowerNames.isEmpty()) return null;
+
+        String exact = byLowerName.get(f);
+        if (exact != null) return exact;
+
+        TopTwo top = new TopTwo();
+        for (int id : containsCandidates(f)) {
+            String p = lowerNames.get(id);
+            if (p.startsWith(f)) {
+                top.offer(id, 1500 + Math.min(f.length(), 50));
+            } else if (p.contains(f)) {
+                top.offer(id, 1200 + Math.min(f.length(), 50));
+            }
+        }
+        for (int k = 1; k < f.length(); k++) {
+            Integer id = idsByLowerName.get(f.substring(0, k));
+            if (id != null) top.offer(id, 1400 + Math.min(k, 50));
+        }
+        List<Integer> tokenHits = namesByToken.get(f);
+        if (tokenHits != null) {
+            for (int id : tokenHits) top.offer(id, 1100 + Math.min(f.length(), 50));
+        }
+        int prefix = longestSharedPrefix(f);
+        if (prefix >= 3) {
+            String stem = f.substring(0, prefix);
+            for (int id : idsByLowerName.subMap(stem, true, stem + Character.MAX_VALUE, true).values()) {
+                top.offer(id, 900 + prefix);
+            }
+        }
+
+        if (top.best < 0) {
+            Map<Integer, Integer> fuzzy = new HashMap<>();
+            int maxDistance = f.length() <= 4 ? 1 : MAX_TOKEN_DISTANCE;
+            for (String token : f.split("\\s+")) {
+                if (token.length() < 3) continue;
+                tokenTree.search(token, maxDistance, (nameToken, distance) -> {
+                    int score = 800 - distance * 100 + Math.min(nameToken.length(), 50);
+                    for (int id : namesByToken.get(nameToken)) {
+                        fuzzy.merge(id, score, Integer::sum);
+                    }
+                });
+            }
+            fuzzy.forEach(top::offer);
+        }
+
+        if (top.best < 0) return null;
+        if (top.second >= 0 && Math.abs(top.bestScore - top.secondScore) <= 10 && f.length() <= 4) {
+            return null;
+        }
+        return byLowerName.get(lowerNames.get(top.best));
+    }
+
+    private void addInternal(String performer) {
+        if (performer == null || performer.isBlank()) return;
+        String original = performer.trim();
+        String lower = original.toLowerCase(Locale.ROOT);
+        if (byLowerName.containsKey(lower)) return;
+
+        int id = lowerNames.size();
+        byLowerName.put(lower, original);
+        idsByLowerName.put(lower, id);
+        lowerNames.add(lower);
+
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            List<Integer> posting = trigrams.computeIfAbsent(lower.substring(i, i + 3), k -> new ArrayList<>(2));
+            if (posting.isEmpty() || posting.get(posting.size() - 1) != id) posting.add(id);
+        }
+        for (String token : lower.split("\\s+")) {
+            if (token.isEmpty()) continue;
+            List<Integer> names = namesByToken.get(token);
+            if (names == null) {
+                names = new ArrayList<>(1);
+                namesByToken.put(token, names);
+                tokenTree.add(token);
+            }
+            names.add(id);
+        }
+    }
+
+    private List<Integer> containsCandidates(String f) {
+        if (f.length() < 3) {
+            List<Integer> all = new ArrayList<>(lowerNames.size());
+            for (int i = 0; i < lowerNames.size(); i++) all.add(i);
+            return all;
+        }
+        List<Integer> rarest = null;
+        for (int i = 0; i + 3 <= f.length(); i++) {
+            List<Integer> posting = trigrams.get(f.substring(i, i + 3));
+            if (posting == null) return List.of();
+            if (rarest == null || posting.size() < rarest.size()) rarest = posting;
+        }
+        return rarest;
+    }
+
+    private int longestSharedPrefix(String f) {
+        int longest = 0;
+        String floor = idsByLowerName.floorKey(f);
+        if (floor != null) longest = commonPrefixLength(f, floor);
+        String ceiling = idsByLowerName.ceilingKey(f);
+        if (ceiling != null) longest = Math.max(longest, commonPrefixLength(f, ceiling));
+        return longest;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        for (; i < max; i++) {
+            if (a.charAt(i) != b.charAt(i)) break;
+        }
+        return i;
+    }
+
+    static int boundedLevenshtein(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[b.length()];
+    }
+
+    private final class TopTwo {
+        private int best = -1;
+        private int bestScore;
+        private int second = -1;
+        private int secondScore;
+
+        private void offer(int id, int score) {
+            if (id == best) {
+                bestScore = Math.max(bestScore, score);
+                return;
+            }
+            if (id == second) {
+                secondScore = Math.max(secondScore, score);
+                if (ranksAbove(second, secondScore, best, bestScore)) swap();
+                return;
+            }
+            if (best < 0 || ranksAbove(id, score, best, bestScore)) {
+                second = best;
+                secondScore = bestScore;
+                best = id;
+                bestScore = score;
+            } else if (second < 0 || ranksAbove(id, score, second, secondScore)) {
+                second = id;
+                secondScore = score;
+            }
+        }
+
+        private void swap() {
+            int id = best;
+            int score = bestScore;
+            best = second;
+            bestScore = secondScore;
+            second = id;
+            secondScore = score;
+        }
+
+        private boolean ranksAbove(int a, int aScore, int b, int bScore) {
+            if (aScore != bScore) return aScore > bScore;
+            return lowerNames.get(a).length() > lowerNames.get(b).length();
+        }
+    }
+
+    private static final class BkTree {
+
+        @FunctionalInterface
+        interface Visitor {
+            void visit(String term, int distance);
+        }
+
+        private static final class Node {
+            private final String term;
+            private final Map<Integer, Node> children = new HashMap<>(4);
+
+            private Node(String term) {
+                this.term = term;
+            }
+        }
+
+        private Node root;
+
+        void add(String term) {
+            if (root == null) {
+                root = new Node(term);
+                return;
+            }
+            Node node = root;
+            while (true) {
+                int distance = boundedLevenshtein(term, node.term, Integer.MAX_VALUE - 1);
+                if (distance == 0) return;
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(term));
+                    return;
+                }
+                node = child;
+            }
+        }
+
+        void search(String query, int maxDistance, Visitor visitor) {
+            if (root == null) return;
+            List<Node> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.remove(stack.size() - 1);
+                int distance = boundedLevenshtein(query, node.term, Integer.MAX_VALUE - 1);
+                if (distance <= maxDistance) visitor.visit(node.term, distance);
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    int edge = child.getKey();
+                    if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+                        stack.add(child.getValue());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.inventory.saas.ai.matching;
+
+import com.inventory.saas.config.CacheConfig;
+import com.inventory.saas.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class PerformerIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformerIndexService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${chat.performer-index.reload-on-miss-seconds:60}")
+    private long reloadOnMissSeconds;
+
+    public PerformerIndexService(TransactionRepository transactionRepository, CacheManager cacheManager) {
+        this.transactionRepository = transactionRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    public String match(String tenantId, String filter) {
+        if (tenantId == null || tenantId.isBlank()) return null;
+
+        PerformerIndex index = indexFor(tenantId);
+        String matched = index.match(filter);
+        if (matched == null && System.currentTimeMillis() - index.builtAtMillis() > reloadOnMissSeconds * 1000) {
+            cache().evict(tenantId);
+            matched = indexFor(tenantId).match(filter);
+        }
+        return matched;
+    }
+
+    public void recordAfterCommit(String tenantId, String performer) {
+        if (tenantId == null || performer == null || performer.isBlank()) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(tenantId, performer);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(tenantId, performer);
+            }
+        });
+    }
+
+    public void evict(String tenantId) {
+        if (tenantId != null) cache().evict(tenantId);
+    }
+
+    public void evictAfterCommit(String tenantId) {
+        if (tenantId == null) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(tenantId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(tenantId);
+            }
+        });
+    }
+
+    private void record(String tenantId, String performer) {
+        PerformerIndex index = cache().get(tenantId, PerformerIndex.class);
+        if (index != null) index.add(performer);
+    }
+
+    private PerformerIndex indexFor(String tenantId) {
+        return cache().get(tenantId, () -> {
+            long start = System.nanoTime();
+            PerformerIndex index = new PerformerIndex(transactionRepository.findDistinctPerformedBy(tenantId));
+            logger.debug("Built performer index tenant={} performers={} in {}ms",
+                    tenantId, index.size(), (System.nanoTime() - start) / 1_000_000);
+            return index;
+        });
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.PERFORMER_INDEX_CACHE);
+    }
+}
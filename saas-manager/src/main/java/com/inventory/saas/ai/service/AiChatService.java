@@ -1,75 +1,154 @@
 package com.inventory.saas.ai.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.saas.ai.context.TransactionContextBuilder;
 import com.inventory.saas.ai.extraction.EntityExtractor;
+import com.inventory.saas.ai.extraction.ItemCatalog;
+import com.inventory.saas.ai.extraction.ItemCatalogService;
+import com.inventory.saas.ai.format.ChatResponseFormatter;
 import com.inventory.saas.ai.intent.IntentClassifier;
 import com.inventory.saas.ai.model.Intent;
+import com.inventory.saas.config.CacheConfig;
 import com.inventory.saas.config.TenantContext;
 import com.inventory.saas.service.InventoryAgentTools;
+import com.inventory.saas.service.TenantDataVersionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.BiConsumer;
 
 @Service
 public class AiChatService {
 
     private static final Logger logger = LoggerFactory.getLogger(AiChatService.class);
+    private static final String NO_TENANT_MSG = "Error: No tenant context. Ensure the request includes X-Tenant-ID.";
 
     private final InventoryAgentTools tools;
     private final TransactionContextBuilder transactionContextBuilder;
-    private final ObjectMapper objectMapper;
+    private final TenantDataVersionService dataVersionService;
+    private final CacheManager cacheManager;
+    private final ItemCatalogService itemCatalogService;
 
     private final IntentClassifier intentClassifier;
     private final EntityExtractor entityExtractor;
+    private final ChatResponseFormatter formatter;
+
+    private record ToolResult(Object data, boolean success) {
+
+        static ToolResult ok(Object data) {
+            return new ToolResult(data, true);
+        }
+
+        static ToolResult failed(Object data) {
+            return new ToolResult(data, false);
+        }
+    }
 
     public AiChatService(InventoryAgentTools tools,
                          TransactionContextBuilder transactionContextBuilder,
-                         ObjectMapper objectMapper) {
+                         ObjectMapper objectMapper,
+                         TenantDataVersionService dataVersionService,
+                         CacheManager cacheManager,
+                         ItemCatalogService itemCatalogService,
+                         @Value("${chat.intent.phrase-table:" + IntentClassifier.DEFAULT_PHRASE_TABLE + "}") String intentPhraseTable) {
         this.tools = tools;
         this.transactionContextBuilder = transactionContextBuilder;
-        this.objectMapper = objectMapper;
-        this.intentClassifier = new IntentClassifier();
+        this.dataVersionService = dataVersionService;
+        this.cacheManager = cacheManager;
+        this.itemCatalogService = itemCatalogService;
+        this.intentClassifier = new IntentClassifier(IntentClassifier.loadPhraseTable(intentPhraseTable));
         this.entityExtractor = new EntityExtractor();
+        this.formatter = new ChatResponseFormatter(objectMapper);
     }
 
     public String chat(String tenantId, String userMessage) {
-        if (tenantId != null && !tenantId.isBlank()) {
-            TenantContext.setTenantId(tenantId);
-        }
+        return chat(tenantId, userMessage, (intent, entities) -> {});
+    }
 
-        Intent intent = intentClassifier.classifyBasicIntent(userMessage);
-        Map<String, String> entities = entityExtractor.extractBasicEntities(userMessage);
+    public String chat(String tenantId, String userMessage, BiConsumer<Intent, Map<String, String>> onClassified) {
+        String scope = tenantId != null && !tenantId.isBlank() ? tenantId : TenantContext.getTenantId();
+        return TenantContext.callWithTenant(scope, () -> respond(tenantId, userMessage, onClassified));
+    }
 
-        logger.info("Detected intent: {} with entities: {} for tenant: {}", intent, entities, tenantId);
+    private String respond(String tenantId, String userMessage, BiConsumer<Intent, Map<String, String>> onClassified) {
+        IntentClassifier.Classification classification = intentClassifier.classify(userMessage);
+        Intent intent = classification.best();
+        Map<String, String> entities = new HashMap<>();
 
         try {
-            return switch (intent) {
-                case STOCK_SUMMARY -> wrapToolResult(intent, entities, safeJsonToMap(tools.getCurrentStockSummary()));
-                case RECENT_TRANSACTIONS -> wrapToolResult(intent, entities, safeJsonToList(tools.getRecentTransactions()));
-                case FORECAST_QUERIES -> wrapToolResult(intent, entities, computeForecastSummary());
-                case LOW_STOCK -> wrapToolResult(intent, entities, computeLowStock());
-                case FILTERED_TRANSACTIONS -> wrapToolResult(intent, entities, computeFilteredTransactions(tenantId, entities));
-                case OTHER -> wrapText(intent, entities, "Please ask about stock levels, recent movements, low stock items, forecasts, or recording a stock adjustment.");
-            };
+            ItemCatalog catalog = intent != Intent.OTHER ? itemCatalogService.catalogFor(tenantId) : ItemCatalog.EMPTY;
+            entities.putAll(entityExtractor.extractEntities(userMessage, catalog));
+
+            logger.info("Detected intent: {} (confidence {}) with entities: {} for tenant: {}",
+                    intent, String.format(Locale.ROOT, "%.2f", classification.confidence()), entities, tenantId);
+
+            onClassified.accept(intent, entities);
+            if (intent == Intent.OTHER || tenantId == null || tenantId.isBlank()) {
+                return formatter.wrapToolResult(intent, entities, runTool(tenantId, intent, entities).data());
+            }
+
+            String key = responseKey(tenantId, intent, entities);
+            Cache cache = chatResponseCache();
+            String data = cache.get(key, String.class);
+            if (data == null) {
+                ToolResult result = runTool(tenantId, intent, entities);
+                data = formatter.renderData(intent, result.data());
+                if (result.success()) cache.put(key, data);
+            }
+            return formatter.wrap(intent, entities, data);
         } catch (Exception e) {
             logger.warn("Chat error tenant={} intent={} message={}", tenantId, intent, e.getMessage(), e);
-            return wrapText(intent, entities, "Sorry, I couldn't process that request right now.");
-        } finally {
-            TenantContext.clear();
+            return formatter.wrapText(intent, entities, "Sorry, I couldn't process that request right now.");
         }
     }
 
-    private Map<String, Object> computeForecastSummary() {
-        List<Object> rawList = safeJsonToList(tools.getItemForecasts());
+    private ToolResult runTool(String tenantId, Intent intent, Map<String, String> entities) {
+        if (intent != Intent.OTHER && (tenantId == null || tenantId.isBlank())) {
+            return ToolResult.failed(Map.of("summary", NO_TENANT_MSG));
+        }
+        return switch (intent) {
+            case STOCK_SUMMARY -> ToolResult.ok(tools.stockSummary(tenantId));
+            case RECENT_TRANSACTIONS -> ToolResult.ok(tools.recentTransactions(tenantId));
+            case FORECAST_QUERIES -> computeForecastSummary(tenantId);
+            case LOW_STOCK -> ToolResult.ok(computeLowStock(tenantId));
+            case FILTERED_TRANSACTIONS -> computeFilteredTransactions(tenantId, entities);
+            case OTHER -> ToolResult.ok(Map.of("summary", "Please ask about stock levels, recent movements, low stock items, forecasts, or recording a stock adjustment."));
+        };
+    }
 
-        if (rawList.isEmpty()) {
+    private String responseKey(String tenantId, Intent intent, Map<String, String> entities) {
+        StringBuilder key = new StringBuilder()
+                .append(tenantId).append(':')
+                .append(dataVersionService.current(tenantId)).append(':')
+                .append(intent.name());
+        if (intent == Intent.FILTERED_TRANSACTIONS && entities != null) {
+            new TreeMap<>(entities).forEach((k, v) -> {
+                if (!(k.startsWith("filter") || k.equals("itemId") || k.equals("page")) || v == null || v.isBlank()) return;
+                key.append(':').append(k).append('=').append(v.trim().toLowerCase(Locale.ROOT));
+            });
+        }
+        return key.toString();
+    }
+
+    private Cache chatResponseCache() {
+        return cacheManager.getCache(CacheConfig.CHAT_RESPONSES_CACHE);
+    }
+
+    private ToolResult computeForecastSummary(String tenantId) {
+        List<InventoryAgentTools.ItemForecast> forecasts = tools.itemForecasts(tenantId);
+
+        if (forecasts.isEmpty()) {
             List<Map<String, Object>> mockData = new ArrayList<>();
 
             Map<String, Object> item1 = new HashMap<>();
@@ -108,81 +187,25 @@ public class AiChatService {
             item4.put("suggestedThreshold", 140);
             mockData.add(item4);
 
-            return Map.of(
+            return ToolResult.failed(Map.of(
                     "summary", "Forecasts (based on 30-day velocity):",
                     "data", mockData
-            );
-        }
-
-        List<Map<String, Object>> forecastItems = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
-        sb.append("Forecasts (based on 30-day velocity):\n");
-
-        int shown = 0;
-        for (Object o : rawList) {
-            if (!(o instanceof Map<?, ?> m)) continue;
-
-            String itemName = m.get("itemName") != null ? m.get("itemName").toString() : "Unknown Item";
-            String sku = m.get("sku") != null ? m.get("sku").toString() : "N/A";
-            int currentQty = toInt(m.get("currentQuantity"));
-            int daysRemaining = toInt(m.get("daysRemaining"));
-            String healthStatus = m.get("healthStatus") != null ? m.get("healthStatus").toString() : "";
-            int suggestedThreshold = toInt(m.get("suggestedThreshold"));
-
-            Map<String, Object> item = new HashMap<>();
-            item.put("itemName", itemName);
-            item.put("sku", sku);
-            item.put("currentQuantity", currentQty);
-            item.put("daysRemaining", daysRemaining);
-            item.put("healthStatus", healthStatus);
-            item.put("suggestedThreshold", suggestedThreshold);
-            forecastItems.add(item);
-
-            shown++;
-            sb.append(shown).append(". ")
-                    .append(itemName)
-                    .append(" (SKU: ").append(sku).append(")")
-                    .append(" - Qty: ").append(currentQty)
-                    .append(", Days remaining: ").append(daysRemaining)
-                    .append(", Suggested threshold: ").append(suggestedThreshold);
-            if (!healthStatus.isBlank()) {
-                sb.append(", Status: ").append(healthStatus);
-            }
-            sb.append("\n");
-
-            if (shown >= 25) break;
+            ));
         }
 
-        if (shown == 0) {
-            return Map.of("summary", "No forecast data found.");
-        }
+        List<InventoryAgentTools.ItemForecast> forecastItems = forecasts.stream()
+                .limit(25)
+                .toList();
 
-        return Map.of(
+        return ToolResult.ok(Map.of(
                 "summary", "Forecasts (based on 30-day velocity):",
                 "data", forecastItems
-        );
+        ));
     }
 
-    private Map<String, Object> computeLowStock() {
-        String raw = tools.getCurrentStockSummary();
-        Map<String, Object> stock = safeJsonToMap(raw);
-
-        Object itemsObj = stock.get("items");
-        if (!(itemsObj instanceof List<?> items)) {
-            return Map.of(
-                    "summary", "No inventory items found.",
-                    "items", List.of()
-            );
-        }
-
-        List<Map<String, Object>> low = items.stream()
-                .filter(m -> m instanceof Map<?, ?>)
-                .map(m -> (Map<String, Object>) m)
-                .filter(m -> {
-                    int qty = toInt(m.get("quantity"));
-                    int min = toInt(m.get("minThreshold"));
-                    return qty <= min;
-                })
+    private Map<String, Object> computeLowStock(String tenantId) {
+        List<InventoryAgentTools.StockItem> low = tools.stockSummary(tenantId).items().stream()
+                .filter(item -> toInt(item.quantity()) <= toInt(item.minThreshold()))
                 .toList();
 
         String summary = low.isEmpty()
@@ -195,115 +218,40 @@ public class AiChatService {
         );
     }
 
-    private Map<String, Object> computeFilteredTransactions(String tenantId, Map<String, String> entities) {
+    private ToolResult computeFilteredTransactions(String tenantId, Map<String, String> entities) {
         String filterType = entities.get("filterType");
         String filterValue = entities.get("filterValue");
 
-        if (tenantId == null || tenantId.isBlank()) {
-            return Map.of("summary", "Error: Missing tenant.", "data", List.of());
-        }
         if (filterValue == null || filterValue.isBlank()) {
-            Map<String, Object> base = new HashMap<>();
-            base.put("summary", "Please specify what to filter by (e.g., 'transactions by Ivan' or 'history for Apple Watch').");
-            base.put("data", List.of());
-            return base;
+            return ToolResult.failed(Map.of(
+                    "summary", "Please specify what to filter by (e.g., 'transactions by Ivan' or 'history for Apple Watch').",
+                    "data", List.of()
+            ));
         }
 
         try {
-            String json;
+            String itemId = entities.get("itemId");
+            int page = Math.max(toInt(entities.get("page")), 1) - 1;
+            TransactionContextBuilder.FilteredTransactions filtered;
             if ("performedBy".equalsIgnoreCase(filterType)) {
-                json = transactionContextBuilder.buildRecentTransactionsJsonFilteredByPerformedBy(tenantId, filterValue);
+                filtered = transactionContextBuilder.filterRecentTransactionsByPerformedBy(tenantId, filterValue, page);
+            } else if (itemId != null) {
+                filtered = transactionContextBuilder.recentTransactionsForItem(tenantId, UUID.fromString(itemId), filterValue, page);
             } else {
-                json = transactionContextBuilder.buildRecentTransactionsJsonFilteredByItemName(tenantId, filterValue);
+                filtered = transactionContextBuilder.filterRecentTransactionsByItemName(tenantId, filterValue, page);
             }
-
-            Map<String, Object> parsed = safeJsonToMap(json);
-            Map<String, Object> dataWrapper = new HashMap<>();
-            dataWrapper.put("summary", parsed.getOrDefault("summary", "Filtered transactions:"));
-            dataWrapper.put("data", parsed.getOrDefault("data", List.of()));
-            return dataWrapper;
-        } catch (Exception e) {
-            logger.warn("Failed to build filtered transactions tenant={} filterType={} filterValue={} err={}", tenantId, filterType, filterValue, e.getMessage());
-            return Map.of("summary", "Failed to filter transactions.", "data", List.of());
-        }
-    }
-
-    private String wrapToolResult(Intent intent, Map<String, String> entities, Object toolData) throws Exception {
-        Map<String, Object> root = new HashMap<>();
-        root.put("debug", Map.of(
-                "intent", intent.name(),
-                "entities", entities != null ? entities : Map.of()
-        ));
-
-        if (toolData instanceof Map<?, ?> m) {
-            root.put("data", m);
-        } else if (toolData instanceof List<?> list) {
-            root.put("data", Map.of(
-                    "summary", defaultSummary(intent),
-                    "data", list
-            ));
-        } else if (toolData instanceof String s) {
-            root.put("data", Map.of(
-                    "summary", s,
-                    "data", List.of()
-            ));
-        } else {
-            root.put("data", Map.of(
-                    "summary", defaultSummary(intent),
-                    "data", List.of()
-            ));
-        }
-
-        String json = objectMapper.writeValueAsString(root);
-        return "```json\n" + json + "\n```";
-    }
-
-    private String wrapText(Intent intent, Map<String, String> entities, String message) {
-        try {
-            return wrapToolResult(intent, entities, Map.of(
-                    "summary", message
+            String summary = filtered.hasMore()
+                    ? filtered.summary() + " Ask for page " + (page + 2) + " to see more."
+                    : filtered.summary();
+            return ToolResult.ok(Map.of(
+                    "summary", summary,
+                    "data", filtered.data(),
+                    "page", page + 1,
+                    "hasMore", filtered.hasMore()
             ));
         } catch (Exception e) {
-            return message;
-        }
-    }
-
-    private String defaultSummary(Intent intent) {
-        return switch (intent) {
-            case STOCK_SUMMARY -> "Current inventory status:";
-            case RECENT_TRANSACTIONS -> "Here are the recent stock movements:";
-            case FORECAST_QUERIES -> "Inventory forecasts:";
-            case LOW_STOCK -> "Low stock items:";
-            case FILTERED_TRANSACTIONS -> "Filtered transactions:";
-            default -> "";
-        };
-    }
-
-    private Map<String, Object> safeJsonToMap(String raw) {
-        if (raw == null || raw.isBlank()) {
-            return Map.of("summary", "No data found.");
-        }
-        if (raw.startsWith("Error:")) {
-            return Map.of("summary", raw);
-        }
-        try {
-            return objectMapper.readValue(raw, new TypeReference<Map<String, Object>>() {});
-        } catch (Exception e) {
-            return Map.of("summary", raw);
-        }
-    }
-
-    private List<Object> safeJsonToList(String raw) {
-        if (raw == null || raw.isBlank()) {
-            return List.of();
-        }
-        if (raw.startsWith("Error:")) {
-            return List.of(Map.of("error", raw));
-        }
-        try {
-            return objectMapper.readValue(raw, new TypeReference<List<Object>>() {});
-        } catch (Exception e) {
-            return List.of(Map.of("error", raw));
+            logger.warn("Failed to build filtered transactions tenant={} filterType={} filterValue={} err={}", tenantId, filterType, filterValue, e.getMessage());
+            return ToolResult.failed(Map.of("summary", "Failed to filter transactions.", "data", List.of()));
         }
     }
 
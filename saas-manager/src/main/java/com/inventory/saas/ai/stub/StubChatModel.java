@@ -0,0 +1,300 @@
+package com.inventory.saas.ai.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.AbstractToolCallSupport;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.function.FunctionCallbackResolver;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StubChatModel extends AbstractToolCallSupport implements ChatModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubChatModel.class);
+    private static final String MODEL = "stub-chat-model";
+    private static final double Z_99 = 2.326;
+    private static final int MAX_TOOL_RESULT_CHARS = 600;
+    private static final String TOOL_CALLS = "TOOL_CALLS";
+
+    public record Settings(Duration latencyMedian, Duration latencyP99, double failureRate, double stallRate,
+                           Duration stall, int streamChunkChars, Duration streamChunkDelay, long seed) {}
+
+    private record StubUsage(Long promptTokens, Long generationTokens) implements Usage {
+
+        @Override
+        public Long getPromptTokens() {
+            return promptTokens;
+        }
+
+        @Override
+        public Long getGenerationTokens() {
+            return generationTokens;
+        }
+    }
+
+    private record Reply(String content, AssistantMessage.ToolCall toolCall, Duration latency, Failure failure) {}
+
+    private enum Failure { NONE, ERROR, STALL }
+
+    private final Settings settings;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong sequence = new AtomicLong();
+    private final FunctionCallingOptions defaultOptions = FunctionCallingOptions.builder().build();
+
+    public StubChatModel(Settings settings, ObjectMapper objectMapper, FunctionCallbackResolver functionCallbackResolver) {
+        super(functionCallbackResolver);
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Reply reply = reply(prompt);
+        sleep(reply.failure() == Failure.STALL ? settings.stall() : reply.latency());
+        if (reply.failure() != Failure.NONE) {
+            throw new IllegalStateException("Injected stub model failure");
+        }
+
+        ChatResponse response = response(prompt, reply, reply.content(), true);
+        if (!isProxyToolCalls(prompt, defaultOptions) && isToolCall(response, Set.of(TOOL_CALLS))) {
+            return call(new Prompt(handleToolCalls(prompt, response), prompt.getOptions()));
+        }
+        return response;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Reply reply = reply(prompt);
+            if (reply.failure() == Failure.STALL) {
+                return Mono.delay(settings.stall())
+                        .thenMany(Flux.error(new IllegalStateException("Injected stub model stall")));
+            }
+
+            if (reply.toolCall() != null) {
+                ChatResponse response = response(prompt, reply, "", true);
+                Mono<ChatResponse> toolCall = reply.failure() == Failure.ERROR
+                        ? Mono.error(new IllegalStateException("Injected stub model failure"))
+                        : Mono.just(response);
+                return Mono.delay(reply.latency()).then(toolCall).flatMapMany(r -> isProxyToolCalls(prompt, defaultOptions)
+                        ? Flux.just(r)
+                        : stream(new Prompt(handleToolCalls(prompt, r), prompt.getOptions())));
+            }
+
+            List<String> chunks = chunk(reply.content());
+            Flux<ChatResponse> body = Flux.range(0, chunks.size())
+                    .delayElements(settings.streamChunkDelay())
+                    .map(i -> response(prompt, reply, chunks.get(i), i == chunks.size() - 1));
+            if (reply.failure() == Failure.ERROR) {
+                body = body.take(Math.max(1, chunks.size() / 2))
+                        .concatWith(Flux.error(new IllegalStateException("Injected stub model failure")));
+            }
+            return Mono.delay(reply.latency()).thenMany(body);
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return FunctionCallingOptions.builder().build();
+    }
+
+    private Reply reply(Prompt prompt) {
+        SplittableRandom random = new SplittableRandom(settings.seed() + sequence.getAndIncrement());
+        Duration latency = sampleLatency(random);
+        double roll = random.nextDouble();
+        Failure failure = roll < settings.failureRate() ? Failure.ERROR
+                : roll < settings.failureRate() + settings.stallRate() ? Failure.STALL
+                : Failure.NONE;
+
+        ToolResponseMessage toolResponse = lastToolResponse(prompt);
+        if (toolResponse != null) {
+            StringBuilder content = new StringBuilder();
+            for (ToolResponseMessage.ToolResponse r : toolResponse.getResponses()) {
+                String result = r.responseData();
+                if (result != null && result.length() > MAX_TOOL_RESULT_CHARS) {
+                    result = result.substring(0, MAX_TOOL_RESULT_CHARS) + "...";
+                }
+                content.append("Based on ").append(r.name()).append(": ").append(result);
+            }
+            return new Reply(content.toString(), null, latency, failure);
+        }
+
+        String text = lastUserMessage(prompt);
+        if (text.contains("return JSON report")) {
+            return new Reply(analysisReport(text), null, latency, failure);
+        }
+
+        FunctionCallback tool = pickTool(prompt, text.toLowerCase(Locale.ROOT));
+        if (tool == null) {
+            return new Reply("Stub model reply: I can help with stock levels, recent movements and forecasts.",
+                    null, latency, failure);
+        }
+
+        AssistantMessage.ToolCall toolCall = new AssistantMessage.ToolCall(
+                "stub-call-" + sequence.get(), "function", tool.getName(), "{}");
+        return new Reply("", toolCall, latency, failure);
+    }
+
+    private ToolResponseMessage lastToolResponse(Prompt prompt) {
+        List<Message> messages = prompt.getInstructions();
+        if (messages.isEmpty()) return null;
+        return messages.get(messages.size() - 1) instanceof ToolResponseMessage toolResponse ? toolResponse : null;
+    }
+
+    private String lastUserMessage(Prompt prompt) {
+        List<Message> messages = prompt.getInstructions();
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i).getMessageType() == MessageType.USER) {
+                String content = messages.get(i).getText();
+                return content != null ? content : "";
+            }
+        }
+        return "";
+    }
+
+    private FunctionCallback pickTool(Prompt prompt, String text) {
+        if (!(prompt.getOptions() instanceof FunctionCallingOptions options)) return null;
+        Set<String> available = runtimeFunctionCallbackConfigurations(options);
+        if (available.isEmpty()) return null;
+
+        String wanted = text.contains("forecast") || text.contains("run out") ? "getItemForecasts"
+                : text.contains("transaction") || text.contains("recent") || text.contains("movement") ? "getRecentTransactions"
+                : text.contains("stock") || text.contains("inventory") ? "getCurrentStockSummary"
+                : null;
+        if (wanted == null) return null;
+
+        return available.contains(wanted) ? functionCallbackRegister.get(wanted) : null;
+    }
+
+    private String analysisReport(String prompt) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        List<Map<String, Object>> analysis = new ArrayList<>();
+        List<String> urgent = new ArrayList<>();
+
+        for (String line : prompt.split("\n")) {
+            if (!line.startsWith("- ")) continue;
+
+            String name = line.substring(2).split(" \\[| \\|", 2)[0].trim();
+            int stats = Math.max(0, line.indexOf("| qty "));
+            int qty = numberAfter(line, "| qty ", stats);
+            int min = numberAfter(line, " min ", stats);
+            boolean belowMin = line.contains("BELOW MIN");
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", name);
+            row.put("quantity", qty);
+            row.put("minThreshold", min);
+            data.add(row);
+
+            Map<String, Object> insight = new LinkedHashMap<>();
+            insight.put("item", name);
+            insight.put("status", belowMin ? "Critical" : "Healthy");
+            insight.put("recommendation", belowMin ? "Restock " + name + " to at least " + (min * 2) : "No action needed");
+            analysis.add(insight);
+
+            if (belowMin) urgent.add("Restock " + name + " (qty " + qty + ", min " + min + ")");
+        }
+
+        int healthScore = data.isEmpty() ? 100 : 100 - (urgent.size() * 100 / data.size());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("status", urgent.isEmpty() ? "Healthy" : "Warning");
+        report.put("summary", "Stub analysis of " + data.size() + " items, " + urgent.size() + " below minimum.");
+        report.put("urgentActions", urgent);
+        report.put("healthScore", healthScore);
+        report.put("data", data);
+        report.put("analysis", analysis);
+        try {
+            return objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ChatResponse response(Prompt prompt, Reply reply, String content, boolean last) {
+        List<AssistantMessage.ToolCall> toolCalls = reply.toolCall() == null ? List.of() : List.of(reply.toolCall());
+        String finishReason = !last ? null : toolCalls.isEmpty() ? "STOP" : TOOL_CALLS;
+        Generation generation = new Generation(new AssistantMessage(content, Map.of(), toolCalls),
+                ChatGenerationMetadata.builder().finishReason(finishReason).build());
+
+        ChatResponseMetadata.Builder metadata = ChatResponseMetadata.builder()
+                .id("stub-" + sequence.get())
+                .model(MODEL);
+        if (last) {
+            metadata.usage(new StubUsage(tokens(prompt.getContents()), tokens(content)));
+        }
+        return new ChatResponse(List.of(generation), metadata.build());
+    }
+
+    private Duration sampleLatency(SplittableRandom random) {
+        long median = settings.latencyMedian().toMillis();
+        if (median <= 0) return Duration.ZERO;
+
+        long p99 = Math.max(median, settings.latencyP99().toMillis());
+        double sigma = Math.log((double) p99 / median) / Z_99;
+        double z = random.nextGaussian();
+        return Duration.ofMillis(Math.round(median * Math.exp(sigma * z)));
+    }
+
+    private List<String> chunk(String content) {
+        int size = Math.max(1, settings.streamChunkChars());
+        List<String> chunks = new ArrayList<>((content.length() + size - 1) / size);
+        for (int i = 0; i < content.length(); i += size) {
+            chunks.add(content.substring(i, Math.min(content.length(), i + size)));
+        }
+        if (chunks.isEmpty()) chunks.add("");
+        return chunks;
+    }
+
+    private static long tokens(String text) {
+        return text == null ? 0 : Math.max(1, text.length() / 4);
+    }
+
+    private static int numberAfter(String line, String marker, int from) {
+        int at = line.indexOf(marker, from);
+        if (at < 0) return 0;
+        int start = at + marker.length();
+        int end = start;
+        while (end < line.length() && (Character.isDigit(line.charAt(end)) || (end == start && line.charAt(end) == '-'))) end++;
+        try {
+            return Integer.parseInt(line.substring(start, end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) return;
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.debug("Stub model call interrupted");
+            throw new IllegalStateException("Stub model call interrupted", e);
+        }
+    }
+}
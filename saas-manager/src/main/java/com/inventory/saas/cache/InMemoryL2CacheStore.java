@@ -0,0 +1,58 @@
+package com.inventory.saas.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class InMemoryL2CacheStore implements L2CacheStore {
+
+    private record Entry(Object value, Instant expiresAt) {}
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object get(String cacheName, String key) {
+        String storeKey = storeKey(cacheName, key);
+        Entry entry = entries.get(storeKey);
+        if (entry == null) return null;
+        if (entry.expiresAt().isBefore(Instant.now())) {
+            entries.remove(storeKey, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        entries.put(storeKey(cacheName, key), new Entry(value, Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        entries.remove(storeKey(cacheName, key));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        String prefix = storeKey(cacheName, "");
+        entries.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+
+    private String storeKey(String cacheName, String key) {
+        return cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,21 @@
+package com.inventory.saas.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+public interface L2CacheStore {
+
+    record Invalidation(String originId, String cacheName, String key) {}
+
+    Object get(String cacheName, String key);
+
+    void put(String cacheName, String key, Object value, Duration ttl);
+
+    void evict(String cacheName, String key);
+
+    void clear(String cacheName);
+
+    void publish(Invalidation invalidation);
+
+    void subscribe(Consumer<Invalidation> listener);
+}
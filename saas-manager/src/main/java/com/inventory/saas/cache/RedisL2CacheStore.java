@@ -0,0 +1,148 @@
+package com.inventory.saas.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class RedisL2CacheStore implements L2CacheStore, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisL2CacheStore.class);
+    private static final String KEY_PREFIX = "cache:";
+    private static final ChannelTopic INVALIDATION_TOPIC = new ChannelTopic("cache:invalidation");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    public RedisL2CacheStore(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+
+        this.redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(valueSerializer(objectMapper));
+        redisTemplate.afterPropertiesSet();
+
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    @Override
+    public Object get(String cacheName, String key) {
+        try {
+            return redisTemplate.opsForValue().get(storeKey(cacheName, key));
+        } catch (Exception e) {
+            logger.warn("Redis L2 cache read failed for {}: {}", cacheName, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(storeKey(cacheName, key), value, ttl);
+        } catch (Exception e) {
+            logger.warn("Redis L2 cache write failed for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        try {
+            redisTemplate.delete(storeKey(cacheName, key));
+        } catch (Exception e) {
+            logger.warn("Redis L2 cache evict failed for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        ScanOptions options = ScanOptions.scanOptions().match(storeKey(cacheName, "*")).count(500).build();
+        try {
+            List<String> keys = redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+                List<String> found = new ArrayList<>();
+                try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                    cursor.forEachRemaining(k -> found.add(new String(k, StandardCharsets.UTF_8)));
+                }
+                return found;
+            });
+            if (keys != null && !keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+        } catch (Exception e) {
+            logger.warn("Redis L2 cache clear failed for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        try {
+            byte[] channel = INVALIDATION_TOPIC.getTopic().getBytes(StandardCharsets.UTF_8);
+            byte[] payload = objectMapper.writeValueAsBytes(invalidation);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, payload));
+        } catch (Exception e) {
+            logger.warn("Failed to publish cache invalidation for {}: {}", invalidation.cacheName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(objectMapper.readValue(message.getBody(), Invalidation.class));
+            } catch (Exception e) {
+                logger.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            }
+        }, INVALIDATION_TOPIC);
+    }
+
+    static GenericJackson2JsonRedisSerializer valueSerializer(ObjectMapper objectMapper) {
+        PolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.inventory.saas.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType(Number.class)
+                .allowIfSubTypeIsArray()
+                .build();
+        ObjectMapper mapper = objectMapper.copy();
+        mapper.activateDefaultTyping(validator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper,
+                (m, bytes, type) -> m.readValue(bytes, Object.class),
+                (m, value) -> m.writerFor(Object.class).writeValueAsBytes(value));
+    }
+
+    private String storeKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + ":" + key;
+    }
+}
@@ -0,0 +1,56 @@
+package com.inventory.saas.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public class SingleFlight<T> {
+
+    private final ConcurrentHashMap<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+    public T execute(String key, Duration timeout, Supplier<T> loader) throws TimeoutException {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing == null) {
+            try {
+                T value = loader.get();
+                call.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+
+        try {
+            return existing.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight call: " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public CompletableFuture<T> tryLead(String key) {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        return inFlight.putIfAbsent(key, call) == null ? call : null;
+    }
+
+    public void finish(String key, CompletableFuture<T> call) {
+        inFlight.remove(key, call);
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.inventory.saas.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final String nodeId;
+    private final Cache<String, Object> l1;
+    private final L2CacheStore l2;
+    private final Duration l2Ttl;
+    private final TwoTierCacheStats stats = new TwoTierCacheStats();
+
+    public TwoTierCache(String name, String nodeId, Cache<String, Object> l1, L2CacheStore l2, Duration l2Ttl) {
+        super(false);
+        this.name = name;
+        this.nodeId = nodeId;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.l2Ttl = l2Ttl;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    public TwoTierCacheStats getStats() {
+        return stats;
+    }
+
+    public long estimatedLocalSize() {
+        return l1.estimatedSize();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Object value = l1.getIfPresent(cacheKey);
+        if (value != null) {
+            stats.l1Hits.increment();
+            return value;
+        }
+
+        value = l2.get(name, cacheKey);
+        if (value != null) {
+            stats.l2Hits.increment();
+            l1.put(cacheKey, value);
+            return value;
+        }
+
+        stats.misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = String.valueOf(key);
+        return (T) fromStoreValue(l1.get(cacheKey, k -> {
+            Object remote = l2.get(name, k);
+            if (remote != null) {
+                stats.l2Hits.increment();
+                return remote;
+            }
+
+            stats.misses.increment();
+            try {
+                Object loaded = toStoreValue(valueLoader.call());
+                l2.put(name, k, loaded, l2Ttl);
+                stats.puts.increment();
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = String.valueOf(key);
+        Object storeValue = toStoreValue(value);
+        l1.put(cacheKey, storeValue);
+        l2.put(name, cacheKey, storeValue, l2Ttl);
+        stats.puts.increment();
+        l2.publish(new L2CacheStore.Invalidation(nodeId, name, cacheKey));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        l1.invalidate(cacheKey);
+        l2.evict(name, cacheKey);
+        stats.evictions.increment();
+        l2.publish(new L2CacheStore.Invalidation(nodeId, name, cacheKey));
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        l2.clear(name);
+        l2.publish(new L2CacheStore.Invalidation(nodeId, name, null));
+    }
+
+    void onInvalidation(L2CacheStore.Invalidation invalidation) {
+        if (nodeId.equals(invalidation.originId()) || !name.equals(invalidation.cacheName())) return;
+
+        stats.remoteInvalidations.increment();
+        if (invalidation.key() == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(invalidation.key());
+        }
+    }
+}
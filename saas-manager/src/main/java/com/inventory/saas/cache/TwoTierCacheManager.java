@@ -0,0 +1,56 @@
+package com.inventory.saas.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager localCacheManager;
+    private final Map<String, TwoTierCache> twoTierCaches = new LinkedHashMap<>();
+
+    public TwoTierCacheManager(CacheManager localCacheManager,
+                               Collection<String> twoTierCacheNames,
+                               Caffeine<Object, Object> l1Spec,
+                               L2CacheStore l2,
+                               Duration l2Ttl) {
+        this.localCacheManager = localCacheManager;
+        String nodeId = UUID.randomUUID().toString();
+
+        for (String name : twoTierCacheNames) {
+            twoTierCaches.put(name, new TwoTierCache(name, nodeId, l1Spec.build(), l2, l2Ttl));
+        }
+
+        l2.subscribe(invalidation -> {
+            TwoTierCache cache = twoTierCaches.get(invalidation.cacheName());
+            if (cache != null) cache.onInvalidation(invalidation);
+        });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = twoTierCaches.get(name);
+        return (cache != null) ? cache : localCacheManager.getCache(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(localCacheManager.getCacheNames());
+        names.addAll(twoTierCaches.keySet());
+        return names;
+    }
+
+    public Map<String, TwoTierCacheStats.Snapshot> getStats() {
+        Map<String, TwoTierCacheStats.Snapshot> stats = new LinkedHashMap<>();
+        twoTierCaches.forEach((name, cache) -> stats.put(name, cache.getStats().snapshot()));
+        return stats;
+    }
+}
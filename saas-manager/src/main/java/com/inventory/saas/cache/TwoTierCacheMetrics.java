@@ -0,0 +1,69 @@
+package com.inventory.saas.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+public class TwoTierCacheMetrics extends CacheMeterBinder<TwoTierCache> {
+
+    public TwoTierCacheMetrics(TwoTierCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.estimatedLocalSize() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoTierCacheStats.Snapshot stats = snapshot();
+        return stats != null ? stats.l1Hits() + stats.l2Hits() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoTierCacheStats.Snapshot stats = snapshot();
+        return stats != null ? stats.misses() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoTierCacheStats.Snapshot stats = snapshot();
+        return stats != null ? stats.evictions() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        TwoTierCacheStats.Snapshot stats = snapshot();
+        return stats != null ? stats.puts() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TwoTierCache cache = getCache();
+        if (cache == null) return;
+
+        FunctionCounter.builder("cache.tier.hits", cache, c -> c.getStats().snapshot().l1Hits())
+                .tags(getTagsWithCacheName())
+                .tag("tier", "l1")
+                .description("Hits served by the local Caffeine tier")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.hits", cache, c -> c.getStats().snapshot().l2Hits())
+                .tags(getTagsWithCacheName())
+                .tag("tier", "l2")
+                .description("Hits served by the shared L2 tier")
+                .register(registry);
+        FunctionCounter.builder("cache.remote.invalidations", cache, c -> c.getStats().snapshot().remoteInvalidations())
+                .tags(getTagsWithCacheName())
+                .description("Invalidations received from other nodes")
+                .register(registry);
+    }
+
+    private TwoTierCacheStats.Snapshot snapshot() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.getStats().snapshot() : null;
+    }
+}
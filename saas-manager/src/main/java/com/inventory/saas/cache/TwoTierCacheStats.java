@@ -0,0 +1,25 @@
+package com.inventory.saas.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class TwoTierCacheStats {
+
+    public record Snapshot(long l1Hits, long l2Hits, long misses, long puts, long evictions, long remoteInvalidations) {
+
+        public double hitRate() {
+            long requests = l1Hits + l2Hits + misses;
+            return requests == 0 ? 0.0 : (double) (l1Hits + l2Hits) / requests;
+        }
+    }
+
+    final LongAdder l1Hits = new LongAdder();
+    final LongAdder l2Hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder puts = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder remoteInvalidations = new LongAdder();
+
+    public Snapshot snapshot() {
+        return new Snapshot(l1Hits.sum(), l2Hits.sum(), misses.sum(), puts.sum(), evictions.sum(), remoteInvalidations.sum());
+    }
+}
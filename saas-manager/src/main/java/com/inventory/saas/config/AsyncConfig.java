@@ -0,0 +1,79 @@
+package com.inventory.saas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Lazy
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        ThreadPoolTaskExecutor executor = builder.build();
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        return executor;
+    }
+
+    @Bean("reportQueryExecutor")
+    public ThreadPoolTaskExecutor reportQueryExecutor(@Value("${reports.query-pool-size:6}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("report-query-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        return executor;
+    }
+
+    @Bean("reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor(@Value("${reports.jobs.workers:2}") int workers,
+                                                    @Value("${reports.jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        return executor;
+    }
+
+    @Bean("analysisRefreshExecutor")
+    public ThreadPoolTaskExecutor analysisRefreshExecutor(@Value("${ai.analysis.refresh-workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("analysis-refresh-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        return executor;
+    }
+
+    @Bean("analysisJobExecutor")
+    public ThreadPoolTaskExecutor analysisJobExecutor(@Value("${ai.analysis.jobs.workers:2}") int workers,
+                                                      @Value("${ai.analysis.jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        return executor;
+    }
+}
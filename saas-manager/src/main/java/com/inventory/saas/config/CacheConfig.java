@@ -1,25 +1,116 @@
 package com.inventory.saas.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.saas.cache.InMemoryL2CacheStore;
+import com.inventory.saas.cache.L2CacheStore;
+import com.inventory.saas.cache.RedisL2CacheStore;
+import com.inventory.saas.cache.TwoTierCacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    public static final String AI_ANALYSIS_CACHE = "ai-analysis";
+    public static final String FORECASTS_CACHE = "forecasts";
+    public static final String USAGE_CACHE = "usage";
+    public static final String WEEKLY_REPORTS_CACHE = "weekly-reports";
+    public static final String CHAT_RESPONSES_CACHE = "chat-responses";
+    public static final String ITEM_CATALOG_CACHE = "item-catalog";
+    public static final String PERFORMER_INDEX_CACHE = "performer-index";
+
+    @Value("${reports.cache.max-megabytes:64}")
+    private long reportCacheMaxMegabytes;
+
+    @Value("${chat.cache.max-entries:5000}")
+    private long chatCacheMaxEntries;
+
+    @Value("${chat.cache.ttl-minutes:5}")
+    private long chatCacheTtlMinutes;
+
+    @Value("${chat.catalog.max-tenants:2000}")
+    private long itemCatalogMaxTenants;
+
+    @Value("${chat.performer-index.max-tenants:2000}")
+    private long performerIndexMaxTenants;
+
+    @Value("${cache.two-tier.names:" + AI_ANALYSIS_CACHE + "}")
+    private List<String> twoTierCacheNames;
+
+    @Value("${cache.two-tier.l2-ttl-minutes:30}")
+    private long l2TtlMinutes;
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("ai-analysis");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
+    @ConditionalOnProperty(name = "cache.two-tier.enabled", havingValue = "true")
+    public L2CacheStore l2CacheStore(@Value("${cache.two-tier.l2:redis}") String l2Type,
+                                     ObjectProvider<RedisConnectionFactory> connectionFactory,
+                                     ObjectMapper objectMapper) {
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        if ("redis".equalsIgnoreCase(l2Type) && factory != null) {
+            return new RedisL2CacheStore(factory, objectMapper);
+        }
+        logger.warn("Two-tier cache using in-memory L2 store; invalidations will not reach other nodes");
+        return new InMemoryL2CacheStore();
+    }
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<L2CacheStore> l2CacheStore) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(AI_ANALYSIS_CACHE, FORECASTS_CACHE, USAGE_CACHE);
+        cacheManager.setCaffeine(localCacheSpec());
+
+        cacheManager.registerCustomCache(WEEKLY_REPORTS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(24, TimeUnit.HOURS)
+                .maximumWeight(reportCacheMaxMegabytes * 1024 * 1024)
+                .weigher((Object key, Object value) -> value instanceof byte[] bytes ? bytes.length : 1)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(CHAT_RESPONSES_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(chatCacheTtlMinutes, TimeUnit.MINUTES)
+                .maximumSize(chatCacheMaxEntries)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(ITEM_CATALOG_CACHE, Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .maximumSize(itemCatalogMaxTenants)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(PERFORMER_INDEX_CACHE, Caffeine.newBuilder()
+                .expireAfterAccess(6, TimeUnit.HOURS)
+                .maximumSize(performerIndexMaxTenants)
+                .recordStats()
+                .build());
+
+        L2CacheStore l2 = l2CacheStore.getIfAvailable();
+        if (l2 == null) {
+            return cacheManager;
+        }
+        return new TwoTierCacheManager(cacheManager, twoTierCacheNames, localCacheSpec(), l2, Duration.ofMinutes(l2TtlMinutes));
+    }
+
+    private Caffeine<Object, Object> localCacheSpec() {
+        return Caffeine.newBuilder()
                 .expireAfterWrite(30, TimeUnit.MINUTES)
                 .maximumSize(1000)
-                .recordStats());
-        return cacheManager;
+                .recordStats();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.inventory.saas.config;
+
+import com.inventory.saas.ai.llm.LlmCircuitBreaker;
+import com.inventory.saas.ai.llm.LlmExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+@Configuration
+public class LlmConfig {
+
+    @Bean("llmCallExecutor")
+    public ThreadPoolTaskExecutor llmCallExecutor(@Value("${ai.llm.max-concurrent:8}") int maxConcurrent,
+                                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("llm-call-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        return executor;
+    }
+
+    @Bean
+    public LlmExecutor llmExecutor(@Qualifier("llmCallExecutor") ThreadPoolTaskExecutor llmCallExecutor,
+                                   @Value("${ai.llm.max-concurrent:8}") int maxConcurrent,
+                                   @Value("${ai.llm.max-concurrent-per-tenant:2}") int maxConcurrentPerTenant,
+                                   @Value("${ai.llm.acquire-timeout-ms:250}") long acquireTimeoutMs,
+                                   @Value("${ai.llm.call-timeout-seconds:45}") long callTimeoutSeconds,
+                                   @Value("${ai.llm.breaker.window-size:20}") int windowSize,
+                                   @Value("${ai.llm.breaker.minimum-calls:10}") int minimumCalls,
+                                   @Value("${ai.llm.breaker.failure-rate:0.5}") double failureRate,
+                                   @Value("${ai.llm.breaker.open-seconds:30}") long openSeconds) {
+        LlmExecutor.Settings settings = new LlmExecutor.Settings(maxConcurrent, maxConcurrentPerTenant,
+                Duration.ofMillis(acquireTimeoutMs), Duration.ofSeconds(callTimeoutSeconds));
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(windowSize, minimumCalls, failureRate, Duration.ofSeconds(openSeconds));
+        return new LlmExecutor(llmCallExecutor, settings, breaker);
+    }
+}
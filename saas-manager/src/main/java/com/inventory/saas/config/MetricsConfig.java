@@ -0,0 +1,139 @@
+package com.inventory.saas.config;
+
+import com.inventory.saas.ai.llm.LlmCircuitBreaker;
+import com.inventory.saas.ai.llm.LlmExecutor;
+import com.inventory.saas.ai.llm.LlmExecutorStats;
+import com.inventory.saas.cache.TwoTierCache;
+import com.inventory.saas.cache.TwoTierCacheMetrics;
+import com.inventory.saas.service.BillingGuard;
+import com.inventory.saas.service.VirtualThreadPinningMonitor;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+    private static final String PLAN_TAG_ATTRIBUTE = MetricsConfig.class.getName() + ".plan";
+
+    @Bean
+    public ServerRequestObservationConvention planTaggedServerRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention(HTTP_SERVER_REQUESTS) {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and("plan", planTag(context.getCarrier()));
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> planTagFilter(@Value("${metrics.plan-claim:org_plan}") String planClaim) {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken jwt) {
+                    request.setAttribute(PLAN_TAG_ATTRIBUTE, BillingGuard.planTier(jwt.getToken().getClaimAsString(planClaim)));
+                }
+                chain.doFilter(request, response);
+            }
+        });
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public MeterFilter httpUriTagLimit(@Value("${metrics.http.max-uri-tags:100}") int maxUriTags) {
+        return MeterFilter.maximumAllowableTags(HTTP_SERVER_REQUESTS, "uri", maxUriTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return new CacheMeterBinderProvider<TwoTierCache>() {
+            @Override
+            public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+                return new TwoTierCacheMetrics(cache, tags);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder llmExecutorMetrics(LlmExecutor llmExecutor) {
+        Map<String, ToLongFunction<LlmExecutorStats.Snapshot>> outcomes = new LinkedHashMap<>();
+        outcomes.put("success", LlmExecutorStats.Snapshot::successes);
+        outcomes.put("failure", LlmExecutorStats.Snapshot::failures);
+        outcomes.put("timeout", LlmExecutorStats.Snapshot::timeouts);
+        outcomes.put("rejected", LlmExecutorStats.Snapshot::rejected);
+        outcomes.put("short_circuited", LlmExecutorStats.Snapshot::shortCircuited);
+
+        return registry -> {
+            outcomes.forEach((outcome, count) ->
+                    FunctionCounter.builder("llm.executor.calls", llmExecutor, e -> count.applyAsLong(e.getStats()))
+                            .description("LLM calls through the bulkhead by outcome")
+                            .tag("outcome", outcome)
+                            .register(registry));
+            FunctionCounter.builder("llm.executor.latency.total", llmExecutor, e -> e.getStats().totalLatencyMillis())
+                    .description("Total time spent in completed LLM calls")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("llm.executor.in.flight", llmExecutor, e -> e.getStats().inFlight())
+                    .description("LLM calls currently holding a bulkhead permit")
+                    .register(registry);
+            Gauge.builder("llm.circuit.open", llmExecutor, e -> e.getStats().circuitState() == LlmCircuitBreaker.State.CLOSED ? 0 : 1)
+                    .description("1 while the LLM circuit breaker is open or half-open")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder virtualThreadPinningMetrics(ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor,
+                                                   @Value("${threads.pinning.top-sites:5}") int topSites) {
+        return registry -> pinningMonitor.ifAvailable(monitor -> {
+            FunctionCounter.builder("threads.virtual.pinned", monitor, VirtualThreadPinningMonitor::pinnedEvents)
+                    .description("Virtual threads that pinned their carrier longer than the JFR threshold")
+                    .register(registry);
+            for (int rank = 1; rank <= topSites; rank++) {
+                int index = rank - 1;
+                Gauge.builder("threads.virtual.pinned.top.millis", monitor, m -> {
+                            List<VirtualThreadPinningMonitor.PinnedSite> sites = m.topSites(topSites);
+                            return index < sites.size() ? sites.get(index).totalMillis() : 0;
+                        })
+                        .description("Total pinned time of the pinning sites ranked by pinned time; site frames are logged")
+                        .tag("rank", String.valueOf(rank))
+                        .register(registry);
+            }
+        });
+    }
+
+    private static String planTag(HttpServletRequest request) {
+        Object plan = request.getAttribute(PLAN_TAG_ATTRIBUTE);
+        return plan != null ? plan.toString() : "none";
+    }
+}
@@ -0,0 +1,54 @@
+package com.inventory.saas.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "schema.index-maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexMaintainer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexMaintainer.class);
+
+    static final List<String> POSTGRES_STATEMENTS = List.of(
+            "DROP INDEX IF EXISTS idx_transaction_item",
+            "DROP INDEX IF EXISTS idx_transaction_tenant_performer_created",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transaction_tenant_lower_performer_created "
+                    + "ON stock_transactions (tenant_id, LOWER(performed_by), created_at)",
+            "DROP INDEX IF EXISTS idx_tenant_low_stock",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_inventory_low_stock ON inventory (tenant_id, quantity) "
+                    + "WHERE deleted = 'N' AND quantity <= COALESCE(min_threshold, 5)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaIndexMaintainer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            logger.info("Skipping index maintenance on {}", product);
+            return;
+        }
+
+        for (String statement : POSTGRES_STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                logger.warn("Index maintenance statement failed [{}]: {}", statement, e.getMessage());
+            }
+        }
+        logger.info("Index maintenance applied {} statements", POSTGRES_STATEMENTS.size());
+    }
+}
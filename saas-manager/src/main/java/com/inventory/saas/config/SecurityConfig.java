@@ -35,6 +35,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         .requestMatchers("/api/v1/test/**", "/api/v1/ai-tools/**", "/api/v1/forecast/**", "/api/inventory/**", "/api/transactions/**", "/api/reports/**", "/api/billing/**").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -85,6 +87,7 @@ public class SecurityConfig {
                 "X-Performed-By",
                 "X-Organization-Plan",
                 "Cache-Control",
+                "If-None-Match",
                 "svix-id",
                 "svix-signature",
                 "svix-timestamp"
@@ -95,7 +98,9 @@ public class SecurityConfig {
                 "Retry-After",
                 "X-Organization-Plan",
                 "X-Usage-SKU",
-                "X-Usage-AI"
+                "X-Usage-AI",
+                "ETag",
+                "Location"
         ));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
@@ -0,0 +1,43 @@
+package com.inventory.saas.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.saas.ai.stub.StubChatModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.model.function.DefaultFunctionCallbackResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("stub-ai")
+public class StubAiConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubAiConfig.class);
+
+    @Bean
+    @Primary
+    public ChatModel stubChatModel(ObjectMapper objectMapper, ApplicationContext applicationContext,
+                                   @Value("${ai.stub.latency.median-ms:800}") long medianMs,
+                                   @Value("${ai.stub.latency.p99-ms:4000}") long p99Ms,
+                                   @Value("${ai.stub.failure-rate:0.0}") double failureRate,
+                                   @Value("${ai.stub.stall-rate:0.0}") double stallRate,
+                                   @Value("${ai.stub.stall-ms:60000}") long stallMs,
+                                   @Value("${ai.stub.stream.chunk-chars:24}") int chunkChars,
+                                   @Value("${ai.stub.stream.chunk-delay-ms:30}") long chunkDelayMs,
+                                   @Value("${ai.stub.seed:42}") long seed) {
+        StubChatModel.Settings settings = new StubChatModel.Settings(Duration.ofMillis(medianMs), Duration.ofMillis(p99Ms),
+                failureRate, stallRate, Duration.ofMillis(stallMs), chunkChars, Duration.ofMillis(chunkDelayMs), seed);
+        logger.warn("Using stub chat model (median {} ms, p99 {} ms, failure rate {}, stall rate {})",
+                medianMs, p99Ms, failureRate, stallRate);
+        DefaultFunctionCallbackResolver resolver = new DefaultFunctionCallbackResolver();
+        resolver.setApplicationContext(applicationContext);
+        return new StubChatModel(settings, objectMapper, resolver);
+    }
+}
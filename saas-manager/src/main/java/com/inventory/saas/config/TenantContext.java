@@ -1,5 +1,7 @@
 package com.inventory.saas.config;
 
+import java.util.function.Supplier;
+
 public class TenantContext {
     private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
 
@@ -18,4 +20,42 @@ public class TenantContext {
     public static void clear() {
         CURRENT_TENANT.remove();
     }
-}
\ No newline at end of file
+
+    public static <T> T callWithTenant(String tenantId, Supplier<T> action) {
+        String previous = CURRENT_TENANT.get();
+        restore(tenantId);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runWithTenant(String tenantId, Runnable action) {
+        String previous = CURRENT_TENANT.get();
+        restore(tenantId);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static Runnable wrap(Runnable task) {
+        String tenantId = CURRENT_TENANT.get();
+        return () -> runWithTenant(tenantId, task);
+    }
+
+    public static <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+        String tenantId = CURRENT_TENANT.get();
+        return () -> callWithTenant(tenantId, supplier);
+    }
+
+    private static void restore(String tenantId) {
+        if (tenantId != null) {
+            CURRENT_TENANT.set(tenantId);
+        } else {
+            CURRENT_TENANT.remove();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.inventory.saas.config;
+
+import org.springframework.core.task.TaskDecorator;
+
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
@@ -1,6 +1,8 @@
 package com.inventory.saas.config;
 
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -9,10 +11,15 @@ import java.util.Map;
 @Component
 public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String>, org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer {
 
+    private static final Logger logger = LoggerFactory.getLogger(TenantIdentifierResolver.class);
+
     @Override
     public String resolveCurrentTenantIdentifier() {
         String tenantId = TenantContext.getTenantId();
-        return (tenantId != null) ? tenantId : "public";
+        if (tenantId != null) return tenantId;
+
+        logger.debug("No tenant bound to thread {}, resolving to 'public'", Thread.currentThread());
+        return "public";
     }
 
     @Override
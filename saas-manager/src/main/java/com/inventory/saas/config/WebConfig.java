@@ -58,7 +58,9 @@ public class WebConfig implements WebMvcConfigurer {
                         "X-Organization-Plan",
                         "X-Usage-SKU",
                         "X-Usage-AI",
-                        "Content-Disposition"
+                        "Content-Disposition",
+                        "ETag",
+                        "Location"
                 )
                 .allowCredentials(true)
                 .maxAge(3600);
@@ -1,15 +1,23 @@
 package com.inventory.saas.controller;
 
+import com.inventory.saas.ai.matching.PerformerIndexService;
 import com.inventory.saas.model.InventoryItem;
 import com.inventory.saas.model.StockTransaction;
 import com.inventory.saas.repository.InventoryRepository;
 import com.inventory.saas.repository.TransactionRepository;
+import com.inventory.saas.service.SyntheticDataGenerator;
+import com.inventory.saas.service.TenantDataVersionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -22,10 +30,45 @@ public class DataInitController {
     private static final Logger logger = LoggerFactory.getLogger(DataInitController.class);
     private final InventoryRepository inventoryRepository;
     private final TransactionRepository transactionRepository;
+    private final TenantDataVersionService dataVersionService;
+    private final PerformerIndexService performerIndexService;
+    private final SyntheticDataGenerator syntheticDataGenerator;
 
-    public DataInitController(InventoryRepository inventoryRepository, TransactionRepository transactionRepository) {
+    @Value("${synthetic-data.enabled:false}")
+    private boolean syntheticDataEnabled;
+
+    @Value("${synthetic-data.workers:4}")
+    private int syntheticDataWorkers;
+
+    public DataInitController(InventoryRepository inventoryRepository,
+                              TransactionRepository transactionRepository,
+                              TenantDataVersionService dataVersionService,
+                              PerformerIndexService performerIndexService,
+                              SyntheticDataGenerator syntheticDataGenerator) {
         this.inventoryRepository = inventoryRepository;
         this.transactionRepository = transactionRepository;
+        this.dataVersionService = dataVersionService;
+        this.performerIndexService = performerIndexService;
+        this.syntheticDataGenerator = syntheticDataGenerator;
+    }
+
+    @PostMapping("/synthetic-data")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SyntheticDataGenerator.Report> generateSyntheticData(
+            @RequestParam(defaultValue = "10") int tenants,
+            @RequestParam(defaultValue = "500") int items,
+            @RequestParam(defaultValue = "10000") int transactions,
+            @RequestParam(defaultValue = "365") int days,
+            @RequestParam(defaultValue = "25") int performers,
+            @RequestParam(defaultValue = "1.1") double skew,
+            @RequestParam(defaultValue = "42") long seed,
+            @RequestParam(defaultValue = "synthetic") String tenantPrefix) {
+        if (!syntheticDataEnabled) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Synthetic data generation is disabled.");
+        }
+
+        return ResponseEntity.ok(syntheticDataGenerator.generate(new SyntheticDataGenerator.Request(
+                tenants, items, transactions, days, performers, skew, syntheticDataWorkers, seed, tenantPrefix)));
     }
 
     @PostMapping("/init-sample-data")
@@ -83,6 +126,8 @@ public class DataInitController {
             tx3.setTenantId(tenantId);
             tx3.setCreatedAt(LocalDateTime.now().minusHours(4));
             transactionRepository.save(tx3);
+            dataVersionService.bumpAfterCommit(tenantId);
+            performerIndexService.recordAfterCommit(tenantId, "Admin");
 
             logger.info("Sample data initialized successfully");
 
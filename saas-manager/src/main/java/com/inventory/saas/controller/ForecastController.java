@@ -3,11 +3,16 @@ package com.inventory.saas.controller;
 import com.inventory.saas.dto.InventorySummaryAnalysisDTO;
 import com.inventory.saas.dto.StockAIInsightDTO;
 import com.inventory.saas.service.AiForecastService;
+import com.inventory.saas.service.AiStreamingService;
+import com.inventory.saas.service.AnalysisJobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -16,6 +21,8 @@ import java.util.List;
 public class ForecastController {
 
     private final AiForecastService aiForecastService;
+    private final AiStreamingService aiStreamingService;
+    private final AnalysisJobService analysisJobService;
 
     @GetMapping("/summary")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER', 'USER')")
@@ -27,6 +34,34 @@ public class ForecastController {
         return ResponseEntity.ok(analysis);
     }
 
+    @GetMapping(value = "/summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER', 'USER')")
+    public SseEmitter streamGlobalInventoryAnalysis(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @RequestHeader(value = "X-Organization-Plan", defaultValue = "free") String plan) {
+        return aiStreamingService.streamGlobalAnalysis(tenantId, plan);
+    }
+
+    @PostMapping("/summary/jobs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER', 'USER')")
+    public ResponseEntity<AnalysisJobService.AnalysisJob> createAnalysisJob(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @RequestHeader(value = "X-Organization-Plan", defaultValue = "free") String plan) {
+
+        AnalysisJobService.AnalysisJob job = analysisJobService.enqueue(tenantId, plan);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/forecast/summary/jobs/" + job.id()))
+                .body(job);
+    }
+
+    @GetMapping("/summary/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER', 'USER')")
+    public ResponseEntity<AnalysisJobService.AnalysisJob> getAnalysisJob(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(analysisJobService.getJob(tenantId, jobId));
+    }
+
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER', 'USER')")
     public ResponseEntity<List<StockAIInsightDTO>> getAllItemForecasts(
@@ -44,6 +79,14 @@ public class ForecastController {
         return ResponseEntity.ok(new AgentChatResponse(reply));
     }
 
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER', 'USER')")
+    public SseEmitter streamChat(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @RequestBody AgentChatRequest request) {
+        return aiStreamingService.streamChat(tenantId, request.message());
+    }
+
     public record AgentChatRequest(String message) {}
     public record AgentChatResponse(String reply) {}
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.inventory.saas.controller;
 
+import com.inventory.saas.ai.llm.LlmExecutor;
+import com.inventory.saas.config.TenantContext;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +17,11 @@ import java.util.Map;
 public class OllamaTestController {
 
     private final ChatClient simpleChatClient;
+    private final LlmExecutor llmExecutor;
 
-    public OllamaTestController(@Qualifier("simpleChatClient") ChatClient simpleChatClient) {
+    public OllamaTestController(@Qualifier("simpleChatClient") ChatClient simpleChatClient, LlmExecutor llmExecutor) {
         this.simpleChatClient = simpleChatClient;
+        this.llmExecutor = llmExecutor;
     }
 
     @PostMapping("/ollama-simple")
@@ -30,10 +34,10 @@ public class OllamaTestController {
 
             long startTime = System.currentTimeMillis();
             
-            String response = simpleChatClient.prompt()
+            String response = llmExecutor.call(TenantContext.getTenantId(), "ollama-simple", () -> simpleChatClient.prompt()
                     .user(message)
                     .call()
-                    .content();
+                    .content());
             
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
@@ -1,12 +1,18 @@
 package com.inventory.saas.controller;
 
+import com.inventory.saas.service.ReportJobService;
 import com.inventory.saas.service.ReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -14,20 +20,89 @@ import org.springframework.web.bind.annotation.*;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
 
     @GetMapping("/weekly")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER')")
-    public ResponseEntity<byte[]> downloadWeeklyReport(
+    public ResponseEntity<?> downloadWeeklyReport(
             @RequestHeader("X-Tenant-ID") String tenantId,
             @RequestHeader(value = "X-Tenant-Plan", defaultValue = "free") String plan,
-            @RequestParam(defaultValue = "Workspace") String orgName) {
+            @RequestParam(defaultValue = "Workspace") String orgName,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (ifNoneMatch != null) {
+            String currentETag = reportService.currentReportETag(tenantId, orgName);
+            if (ifNoneMatch.equals(currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+        }
 
-        byte[] pdfContent = reportService.generateWeeklyReport(tenantId, orgName, plan);
+        if (reportService.cachedWeeklyReport(tenantId, orgName) == null && reportService.isLargeTenant(tenantId)) {
+            return acceptedJob(reportJobService.enqueue(tenantId, orgName, plan));
+        }
+
+        ReportService.RenderedReport report = reportService.getWeeklyReport(tenantId, orgName, plan);
+        byte[] pdfContent = report.content();
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory_report.pdf\"")
+                .eTag(report.eTag())
                 .contentType(MediaType.APPLICATION_PDF)
                 .contentLength(pdfContent.length)
                 .body(pdfContent);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/weekly/stream")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER')")
+    public ResponseEntity<?> streamWeeklyReport(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @RequestHeader(value = "X-Tenant-Plan", defaultValue = "free") String plan,
+            @RequestParam(defaultValue = "Workspace") String orgName) {
+
+        if (reportService.cachedWeeklyReport(tenantId, orgName) == null && reportService.isLargeTenant(tenantId)) {
+            return acceptedJob(reportJobService.enqueue(tenantId, orgName, plan));
+        }
+
+        StreamingResponseBody body = reportService.streamWeeklyReport(tenantId, orgName, plan);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory_report.pdf\"")
+                .eTag(reportService.currentReportETag(tenantId, orgName))
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
+    @PostMapping("/jobs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER')")
+    public ResponseEntity<ReportJobService.ReportJob> createReportJob(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @RequestHeader(value = "X-Tenant-Plan", defaultValue = "free") String plan,
+            @RequestParam(defaultValue = "Workspace") String orgName) {
+
+        return acceptedJob(reportJobService.enqueue(tenantId, orgName, plan));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER')")
+    public ResponseEntity<?> getReportJob(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @PathVariable String jobId) {
+
+        ReportJobService.ReportJob job = reportJobService.getJob(tenantId, jobId);
+        if (job.status() != ReportJobService.Status.COMPLETED) {
+            return ResponseEntity.ok(job);
+        }
+
+        FileSystemResource pdf = new FileSystemResource(reportJobService.getResult(job));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory_report.pdf\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(pdf);
+    }
+
+    private ResponseEntity<ReportJobService.ReportJob> acceptedJob(ReportJobService.ReportJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.id()))
+                .body(job);
+    }
+}
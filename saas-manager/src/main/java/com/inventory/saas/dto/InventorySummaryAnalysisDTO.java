@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+
+import java.time.Instant;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
@@ -30,4 +32,10 @@ public class InventorySummaryAnalysisDTO {
 
     @JsonProperty("analysis")
     private List<Map<String, Object>> analysis = new ArrayList<>();
+
+    @JsonProperty("generatedAt")
+    private Instant generatedAt;
+
+    @JsonProperty("stale")
+    private boolean stale;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.inventory.saas.dto;
+
+import java.math.BigDecimal;
+
+public interface InventoryValuationDTO {
+    long getSkuCount();
+    BigDecimal getTotalValuation();
+}
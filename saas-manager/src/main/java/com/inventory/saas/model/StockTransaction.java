@@ -12,8 +12,8 @@ import java.util.UUID;
 @Table(name = "stock_transactions",
        indexes = {
            @Index(name = "idx_transaction_tenant", columnList = "tenant_id"),
-           @Index(name = "idx_transaction_item", columnList = "inventory_item_id"),
            @Index(name = "idx_transaction_tenant_created", columnList = "tenant_id, created_at"),
+           @Index(name = "idx_transaction_item_created", columnList = "inventory_item_id, created_at"),
            @Index(name = "idx_transaction_type", columnList = "type")
        })
 public class StockTransaction {
@@ -1,6 +1,7 @@
 package com.inventory.saas.repository;
 
 import com.inventory.saas.dto.InventoryTrashDTO;
+import com.inventory.saas.dto.InventoryValuationDTO;
 import com.inventory.saas.model.InventoryItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +25,14 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, UUID>
         @Query(value = "SELECT count(*) FROM inventory WHERE tenant_id = :tenantId AND deleted = 'N'", nativeQuery = true)
         long countByTenantIdAndDeletedFalse(@Param("tenantId") String tenantId);
 
+        @Query(value = "SELECT count(*) as skuCount, COALESCE(SUM(COALESCE(price, 0) * quantity), 0) as totalValuation " +
+                "FROM inventory WHERE tenant_id = :tenantId AND deleted = 'N'", nativeQuery = true)
+        InventoryValuationDTO findValuationByTenantId(@Param("tenantId") String tenantId);
+
+        @Query(value = "SELECT * FROM inventory WHERE tenant_id = :tenantId AND deleted = 'N' " +
+                "AND quantity <= COALESCE(min_threshold, 5) ORDER BY quantity ASC", nativeQuery = true)
+        List<InventoryItem> findLowStockByTenantId(@Param("tenantId") String tenantId);
+
         @Query(value = "SELECT * FROM inventory WHERE id = :id", nativeQuery = true)
         Optional<InventoryItem> findByIdIncludingDeleted(@Param("id") UUID id);
 
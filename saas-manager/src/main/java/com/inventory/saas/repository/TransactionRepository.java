@@ -1,6 +1,7 @@
 package com.inventory.saas.repository;
 
 import com.inventory.saas.model.StockTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,7 +18,7 @@ public interface TransactionRepository extends JpaRepository<StockTransaction, U
 
     @Query("SELECT t FROM StockTransaction t LEFT JOIN FETCH t.inventoryItem " +
             "WHERE t.tenantId = :tenantId ORDER BY t.createdAt DESC")
-    List<StockTransaction> findTop10ByTenantIdOrderByCreatedAtDesc(@Param("tenantId") String tenantId);
+    List<StockTransaction> findRecentWithItemByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
 
     List<StockTransaction> findByTenantIdAndCreatedAtAfter(String tenantId, LocalDateTime date);
 
@@ -30,6 +31,60 @@ public interface TransactionRepository extends JpaRepository<StockTransaction, U
             "ORDER BY t.created_at DESC LIMIT 10", nativeQuery = true)
     List<Map<String, Object>> findRecentTransactionsRaw(@Param("tenantId") String tenantId);
 
+    @Query(value = "SELECT t.id as id, t.quantity_change as quantityChange, t.type as type, " +
+            "t.reason as reason, t.performed_by as performedBy, t.created_at as createdAt, " +
+            "i.name as itemName " +
+            "FROM stock_transactions t " +
+            "JOIN inventory i ON t.inventory_item_id = i.id " +
+            "WHERE t.tenant_id = :tenantId AND t.inventory_item_id = :itemId AND t.created_at >= :since " +
+            "ORDER BY t.created_at DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Map<String, Object>> findTransactionsRawByItem(@Param("tenantId") String tenantId,
+                                                        @Param("itemId") UUID itemId,
+                                                        @Param("since") LocalDateTime since,
+                                                        @Param("limit") int limit,
+                                                        @Param("offset") int offset);
+
+    @Query(value = "SELECT t.id as id, t.quantity_change as quantityChange, t.type as type, " +
+            "t.reason as reason, t.performed_by as performedBy, t.created_at as createdAt, " +
+            "i.name as itemName " +
+            "FROM stock_transactions t " +
+            "JOIN inventory i ON t.inventory_item_id = i.id " +
+            "WHERE t.tenant_id = :tenantId AND t.created_at >= :since " +
+            "AND i.name ILIKE CONCAT('%', :itemName, '%') ESCAPE '\\' " +
+            "ORDER BY t.created_at DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Map<String, Object>> findTransactionsRawByItemName(@Param("tenantId") String tenantId,
+                                                            @Param("itemName") String itemName,
+                                                            @Param("since") LocalDateTime since,
+                                                            @Param("limit") int limit,
+                                                            @Param("offset") int offset);
+
+    @Query(value = "SELECT t.id as id, t.quantity_change as quantityChange, t.type as type, " +
+            "t.reason as reason, t.performed_by as performedBy, t.created_at as createdAt, " +
+            "i.name as itemName " +
+            "FROM stock_transactions t " +
+            "JOIN inventory i ON t.inventory_item_id = i.id " +
+            "WHERE t.tenant_id = :tenantId AND LOWER(t.performed_by) = LOWER(:performedBy) AND t.created_at >= :since " +
+            "ORDER BY t.created_at DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Map<String, Object>> findTransactionsRawByPerformer(@Param("tenantId") String tenantId,
+                                                             @Param("performedBy") String performedBy,
+                                                             @Param("since") LocalDateTime since,
+                                                             @Param("limit") int limit,
+                                                             @Param("offset") int offset);
+
+    @Query(value = "SELECT t.id as id, t.quantity_change as quantityChange, t.type as type, " +
+            "t.reason as reason, t.performed_by as performedBy, t.created_at as createdAt, " +
+            "i.name as itemName " +
+            "FROM stock_transactions t " +
+            "JOIN inventory i ON t.inventory_item_id = i.id " +
+            "WHERE t.tenant_id = :tenantId AND t.created_at >= :since " +
+            "AND t.performed_by ILIKE CONCAT('%', :performedBy, '%') ESCAPE '\\' " +
+            "ORDER BY t.created_at DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Map<String, Object>> findTransactionsRawByPerformerLike(@Param("tenantId") String tenantId,
+                                                                 @Param("performedBy") String performedBy,
+                                                                 @Param("since") LocalDateTime since,
+                                                                 @Param("limit") int limit,
+                                                                 @Param("offset") int offset);
+
     @Query(value = "SELECT DISTINCT t.performed_by " +
             "FROM stock_transactions t " +
             "WHERE t.tenant_id = :tenantId " +
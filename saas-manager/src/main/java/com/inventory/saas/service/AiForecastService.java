@@ -1,35 +1,313 @@
 package com.inventory.saas.service;
 
+import com.inventory.saas.ai.llm.LlmUnavailableException;
+import com.inventory.saas.ai.model.Intent;
 import com.inventory.saas.ai.service.AiAnalysisService;
 import com.inventory.saas.ai.service.AiChatService;
+import com.inventory.saas.cache.SingleFlight;
+import com.inventory.saas.config.CacheConfig;
+import com.inventory.saas.config.TenantContext;
 import com.inventory.saas.dto.InventorySummaryAnalysisDTO;
 import com.inventory.saas.dto.StockAIInsightDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 @Service
 public class AiForecastService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AiForecastService.class);
+
     private final AiAnalysisService aiAnalysisService;
     private final AiChatService aiChatService;
+    private final TenantDataVersionService dataVersionService;
+    private final CacheManager cacheManager;
+    private final TaskScheduler taskScheduler;
+    private final ThreadPoolTaskExecutor refreshExecutor;
+    private final RedisLeaseService leaseService;
+
+    private final SingleFlight<AnalysisSnapshot> analysisFlight = new SingleFlight<>();
+
+    private final ConcurrentHashMap<String, Instant> lastRefreshAt = new ConcurrentHashMap<>();
+    private final Set<String> pendingRefresh = ConcurrentHashMap.newKeySet();
+
+    @Value("${ai.analysis.refresh-interval-seconds:300}")
+    private long refreshIntervalSeconds;
+
+    @Value("${ai.analysis.coalesce-timeout-seconds:60}")
+    private long coalesceTimeoutSeconds;
+
+    @Value("${ai.analysis.lease-seconds:90}")
+    private long leaseSeconds;
+
+    @Value("${ai.analysis.lease-poll-ms:250}")
+    private long leasePollMillis;
+
+    public record AnalysisSnapshot(InventorySummaryAnalysisDTO analysis, long version) {}
+
+    public final class AnalysisLead {
+        private final String tenantId;
+        private final long version;
+        private final CompletableFuture<AnalysisSnapshot> call;
+        private final String token;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private AnalysisLead(String tenantId, long version, CompletableFuture<AnalysisSnapshot> call, String token) {
+            this.tenantId = tenantId;
+            this.version = version;
+            this.call = call;
+            this.token = token;
+        }
+
+        public InventorySummaryAnalysisDTO complete(InventorySummaryAnalysisDTO analysis) {
+            AnalysisSnapshot snapshot = new AnalysisSnapshot(storeAnalysis(tenantId, version, analysis), version);
+            finish(snapshot);
+            return snapshot.analysis();
+        }
+
+        public InventorySummaryAnalysisDTO fail() {
+            if (!finished.get()) finish(fallback(tenantId));
+            return call.join().analysis();
+        }
+
+        private void finish(AnalysisSnapshot snapshot) {
+            if (!finished.compareAndSet(false, true)) return;
+            try {
+                call.complete(snapshot);
+            } finally {
+                analysisFlight.finish(tenantId, call);
+                leaseService.release(leaseName(tenantId), token);
+            }
+        }
+    }
 
-    public AiForecastService(AiAnalysisService aiAnalysisService, AiChatService aiChatService) {
+    public AiForecastService(AiAnalysisService aiAnalysisService,
+                             AiChatService aiChatService,
+                             TenantDataVersionService dataVersionService,
+                             CacheManager cacheManager,
+                             TaskScheduler taskScheduler,
+                             @Qualifier("analysisRefreshExecutor") ThreadPoolTaskExecutor refreshExecutor,
+                             RedisLeaseService leaseService) {
         this.aiAnalysisService = aiAnalysisService;
         this.aiChatService = aiChatService;
+        this.dataVersionService = dataVersionService;
+        this.cacheManager = cacheManager;
+        this.taskScheduler = taskScheduler;
+        this.refreshExecutor = refreshExecutor;
+        this.leaseService = leaseService;
     }
 
+    @Cacheable(value = "forecasts", key = "#tenantId + ':' + @tenantDataVersionService.current(#tenantId)")
     public List<StockAIInsightDTO> calculateAllItemForecasts(String tenantId) {
         return aiAnalysisService.calculateAllItemForecasts(tenantId);
     }
 
-    @Cacheable(value = "ai-analysis", key = "#tenantId")
     public InventorySummaryAnalysisDTO getGlobalAnalysis(String tenantId, String plan) {
-        return aiAnalysisService.getGlobalAnalysis(tenantId, plan);
+        long version = dataVersionService.current(tenantId);
+        AnalysisSnapshot snapshot = analysisCache().get(tenantId, AnalysisSnapshot.class);
+
+        if (snapshot == null) {
+            return loadCoalesced(tenantId, plan, version).analysis();
+        }
+        if (snapshot.version() >= version) {
+            return snapshot.analysis();
+        }
+
+        scheduleRefresh(tenantId, plan);
+        return markStale(snapshot.analysis());
+    }
+
+    public InventorySummaryAnalysisDTO cachedAnalysis(String tenantId) {
+        AnalysisSnapshot snapshot = analysisCache().get(tenantId, AnalysisSnapshot.class);
+        if (snapshot == null) return null;
+        return snapshot.version() >= dataVersionService.current(tenantId) ? snapshot.analysis() : markStale(snapshot.analysis());
+    }
+
+    public InventorySummaryAnalysisDTO storeAnalysis(String tenantId, long version, InventorySummaryAnalysisDTO analysis) {
+        analysis.setGeneratedAt(Instant.now());
+        analysis.setStale(false);
+        analysisCache().put(tenantId, new AnalysisSnapshot(analysis, version));
+        return analysis;
+    }
+
+    public AnalysisSnapshot generateAnalysis(String tenantId, String plan, long version) {
+        AnalysisSnapshot cached = analysisCache().get(tenantId, AnalysisSnapshot.class);
+        if (cached != null && cached.version() >= version) return cached;
+
+        return TenantContext.callWithTenant(tenantId, () -> loadCoalesced(tenantId, plan, version));
+    }
+
+    public AnalysisLead tryLeadAnalysis(String tenantId, long version) {
+        String leaseName = leaseName(tenantId);
+        String token = leaseService.tryAcquire(leaseName, Duration.ofSeconds(leaseSeconds));
+        if (token == null) return null;
+
+        CompletableFuture<AnalysisSnapshot> call = analysisFlight.tryLead(tenantId);
+        if (call == null) {
+            leaseService.release(leaseName, token);
+            return null;
+        }
+
+        AnalysisLead lead = new AnalysisLead(tenantId, version, call, token);
+        AnalysisSnapshot cached = analysisCache().get(tenantId, AnalysisSnapshot.class);
+        if (cached != null && cached.version() >= version) {
+            lead.finish(cached);
+            return null;
+        }
+        return lead;
     }
 
     public String chat(String tenantId, String userMessage) {
         return aiChatService.chat(tenantId, userMessage);
     }
-}
\ No newline at end of file
+
+    public String chat(String tenantId, String userMessage, BiConsumer<Intent, Map<String, String>> onClassified) {
+        return aiChatService.chat(tenantId, userMessage, onClassified);
+    }
+
+    private AnalysisSnapshot loadCoalesced(String tenantId, String plan, long version) {
+        Duration timeout = Duration.ofSeconds(coalesceTimeoutSeconds);
+        try {
+            return analysisFlight.execute(tenantId, timeout, () -> loadWithLease(tenantId, plan, version, timeout));
+        } catch (TimeoutException e) {
+            logger.warn("Timed out waiting for in-flight AI analysis for tenant {}", tenantId);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "AI analysis is still being generated. Please try again shortly.");
+        }
+    }
+
+    private AnalysisSnapshot loadWithLease(String tenantId, String plan, long version, Duration timeout) {
+        String leaseName = leaseName(tenantId);
+        Instant deadline = Instant.now().plus(timeout);
+
+        while (true) {
+            String token = leaseService.tryAcquire(leaseName, Duration.ofSeconds(leaseSeconds));
+            if (token != null) {
+                try {
+                    AnalysisSnapshot cached = analysisCache().get(tenantId, AnalysisSnapshot.class);
+                    if (cached != null && cached.version() >= version) return cached;
+                    return analyze(tenantId, plan, version);
+                } finally {
+                    leaseService.release(leaseName, token);
+                }
+            }
+
+            AnalysisSnapshot cached = analysisCache().get(tenantId, AnalysisSnapshot.class);
+            if (cached != null) return cached;
+
+            if (Instant.now().isAfter(deadline)) {
+                logger.warn("Timed out waiting for another node to finish AI analysis for tenant {}", tenantId);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "AI analysis is still being generated. Please try again shortly.");
+            }
+            try {
+                Thread.sleep(leasePollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for AI analysis lease", e);
+            }
+        }
+    }
+
+    private AnalysisSnapshot analyze(String tenantId, String plan, long version) {
+        try {
+            InventorySummaryAnalysisDTO analysis = aiAnalysisService.getGlobalAnalysis(tenantId, plan);
+            return new AnalysisSnapshot(storeAnalysis(tenantId, version, analysis), version);
+        } catch (LlmUnavailableException e) {
+            logger.warn("AI analysis failed ({}) for tenant {}", e.getFailureReason(), tenantId);
+            return fallback(tenantId);
+        }
+    }
+
+    private AnalysisSnapshot fallback(String tenantId) {
+        AnalysisSnapshot cached = analysisCache().get(tenantId, AnalysisSnapshot.class);
+        if (cached != null) {
+            logger.info("Serving last cached analysis for tenant {}", tenantId);
+            return new AnalysisSnapshot(markStale(cached.analysis()), cached.version());
+        }
+        return new AnalysisSnapshot(aiAnalysisService.failedResponse(), -1);
+    }
+
+    private void scheduleRefresh(String tenantId, String plan) {
+        if (!pendingRefresh.add(tenantId)) return;
+
+        Instant last = lastRefreshAt.getOrDefault(tenantId, Instant.EPOCH);
+        Instant due = last.plus(Duration.ofSeconds(refreshIntervalSeconds));
+        Instant now = Instant.now();
+
+        try {
+            taskScheduler.schedule(() -> submitRefresh(tenantId, plan), due.isAfter(now) ? due : now);
+            logger.debug("Analysis refresh for tenant {} scheduled at {}", tenantId, due.isAfter(now) ? due : now);
+        } catch (RuntimeException e) {
+            pendingRefresh.remove(tenantId);
+            logger.warn("Could not schedule analysis refresh for tenant {}: {}", tenantId, e.getMessage());
+        }
+    }
+
+    private void submitRefresh(String tenantId, String plan) {
+        try {
+            refreshExecutor.execute(() -> refresh(tenantId, plan));
+        } catch (TaskRejectedException e) {
+            pendingRefresh.remove(tenantId);
+            logger.warn("Analysis refresh queue full, skipping refresh for tenant {}", tenantId);
+        }
+    }
+
+    private void refresh(String tenantId, String plan) {
+        lastRefreshAt.put(tenantId, Instant.now());
+        String leaseName = leaseName(tenantId);
+        String token = leaseService.tryAcquire(leaseName, Duration.ofSeconds(leaseSeconds));
+        if (token == null) {
+            logger.debug("Another node is refreshing AI analysis for tenant {}, skipping", tenantId);
+            pendingRefresh.remove(tenantId);
+            return;
+        }
+
+        TenantContext.setTenantId(tenantId);
+        try {
+            long version = dataVersionService.current(tenantId);
+            analysisFlight.execute(tenantId, Duration.ofSeconds(coalesceTimeoutSeconds), () -> analyze(tenantId, plan, version));
+            logger.info("Refreshed AI analysis for tenant {} at data version {}", tenantId, version);
+        } catch (Exception e) {
+            logger.warn("Background AI analysis refresh failed for tenant {}: {}", tenantId, e.getMessage());
+        } finally {
+            TenantContext.clear();
+            leaseService.release(leaseName, token);
+            pendingRefresh.remove(tenantId);
+        }
+    }
+
+    private InventorySummaryAnalysisDTO markStale(InventorySummaryAnalysisDTO analysis) {
+        return new InventorySummaryAnalysisDTO(analysis.getStatus(), analysis.getSummary(), analysis.getUrgentActions(),
+                analysis.getHealthScore(), analysis.getData(), analysis.getAnalysis(), analysis.getGeneratedAt(), true);
+    }
+
+    private String leaseName(String tenantId) {
+        return CacheConfig.AI_ANALYSIS_CACHE + ":" + tenantId;
+    }
+
+    private Cache analysisCache() {
+        return cacheManager.getCache(CacheConfig.AI_ANALYSIS_CACHE);
+    }
+}
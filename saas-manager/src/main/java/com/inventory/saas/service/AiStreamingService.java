@@ -0,0 +1,183 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.ai.service.AiAnalysisService;
+import com.inventory.saas.dto.InventorySummaryAnalysisDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class AiStreamingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiStreamingService.class);
+
+    private final AiForecastService aiForecastService;
+    private final AiAnalysisService aiAnalysisService;
+    private final TenantDataVersionService dataVersionService;
+    private final BillingGuard billingGuard;
+    private final AsyncTaskExecutor streamExecutor;
+
+    @Value("${ai.stream.timeout-seconds:120}")
+    private long streamTimeoutSeconds;
+
+    public AiStreamingService(AiForecastService aiForecastService,
+                              AiAnalysisService aiAnalysisService,
+                              TenantDataVersionService dataVersionService,
+                              BillingGuard billingGuard,
+                              @Qualifier("applicationTaskExecutor") AsyncTaskExecutor streamExecutor) {
+        this.aiForecastService = aiForecastService;
+        this.aiAnalysisService = aiAnalysisService;
+        this.dataVersionService = dataVersionService;
+        this.billingGuard = billingGuard;
+        this.streamExecutor = streamExecutor;
+    }
+
+    public SseEmitter streamGlobalAnalysis(String tenantId, String plan) {
+        SseEmitter emitter = new SseEmitter(Duration.ofSeconds(streamTimeoutSeconds).toMillis());
+
+        InventorySummaryAnalysisDTO cached = aiForecastService.cachedAnalysis(tenantId);
+        if (cached != null && !cached.isStale()) {
+            sendAndComplete(emitter, "result", cached);
+            return emitter;
+        }
+
+        billingGuard.validateTokenBudget(tenantId, plan);
+
+        long version = dataVersionService.current(tenantId);
+        String prompt = aiAnalysisService.buildAnalysisPrompt(tenantId);
+        if (prompt == null) {
+            sendAndComplete(emitter, "result", aiAnalysisService.noHistoryResponse());
+            return emitter;
+        }
+
+        if (cached != null) {
+            send(emitter, "stale", cached);
+        }
+
+        AiForecastService.AnalysisLead lead = aiForecastService.tryLeadAnalysis(tenantId, version);
+        if (lead == null) {
+            awaitInFlightAnalysis(emitter, tenantId, plan, version, cached);
+            return emitter;
+        }
+
+        StringBuilder content = new StringBuilder();
+        AtomicReference<ChatResponse> last = new AtomicReference<>();
+
+        Disposable subscription = aiAnalysisService.streamGlobalAnalysis(tenantId, prompt).subscribe(
+                chunk -> {
+                    last.set(chunk);
+                    String delta = chunkText(chunk);
+                    if (delta.isEmpty()) return;
+                    content.append(delta);
+                    if (!send(emitter, "delta", delta)) {
+                        throw new IllegalStateException("Client disconnected");
+                    }
+                },
+                error -> {
+                    logger.warn("Streaming AI analysis failed for tenant {}: {}", tenantId, error.getMessage());
+                    sendAndComplete(emitter, "result", lead.fail());
+                },
+                () -> {
+                    aiAnalysisService.recordUsage(tenantId, last.get());
+                    InventorySummaryAnalysisDTO analysis;
+                    try {
+                        analysis = lead.complete(aiAnalysisService.parseAnalysis(tenantId, content.toString()));
+                    } catch (Exception e) {
+                        logger.warn("Could not parse streamed AI analysis for tenant {}: {}", tenantId, e.getMessage());
+                        analysis = lead.fail();
+                    }
+                    sendAndComplete(emitter, "result", analysis);
+                });
+
+        emitter.onCompletion(() -> {
+            subscription.dispose();
+            lead.fail();
+        });
+        emitter.onTimeout(() -> {
+            logger.info("AI analysis stream timed out for tenant {}", tenantId);
+            subscription.dispose();
+            lead.fail();
+        });
+        emitter.onError(e -> {
+            subscription.dispose();
+            lead.fail();
+        });
+        return emitter;
+    }
+
+    private void awaitInFlightAnalysis(SseEmitter emitter, String tenantId, String plan, long version,
+                                       InventorySummaryAnalysisDTO cached) {
+        try {
+            streamExecutor.execute(() -> {
+                InventorySummaryAnalysisDTO analysis;
+                try {
+                    analysis = aiForecastService.generateAnalysis(tenantId, plan, version).analysis();
+                } catch (Exception e) {
+                    logger.warn("Waiting for in-flight AI analysis failed for tenant {}: {}", tenantId, e.getMessage());
+                    analysis = cached != null ? cached : aiAnalysisService.failedResponse();
+                }
+                sendAndComplete(emitter, "result", analysis);
+            });
+        } catch (TaskRejectedException e) {
+            logger.warn("Analysis stream rejected for tenant {}: executor saturated", tenantId);
+            emitter.completeWithError(e);
+        }
+    }
+
+    public SseEmitter streamChat(String tenantId, String message) {
+        SseEmitter emitter = new SseEmitter(Duration.ofSeconds(streamTimeoutSeconds).toMillis());
+
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    String reply = aiForecastService.chat(tenantId, message, (intent, entities) -> {
+                        if (!send(emitter, "intent", Map.of("intent", intent.name(), "entities", entities))) {
+                            throw new IllegalStateException("Client disconnected");
+                        }
+                    });
+                    sendAndComplete(emitter, "reply", Map.of("reply", reply));
+                } catch (Exception e) {
+                    logger.info("Chat stream ended early for tenant {}: {}", tenantId, e.getMessage());
+                    emitter.complete();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            logger.warn("Chat stream rejected for tenant {}: executor saturated", tenantId);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private String chunkText(ChatResponse chunk) {
+        if (chunk == null || chunk.getResult() == null || chunk.getResult().getOutput() == null) return "";
+        String text = chunk.getResult().getOutput().getContent();
+        return text != null ? text : "";
+    }
+
+    private boolean send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping SSE event '{}': {}", event, e.getMessage());
+            return false;
+        }
+    }
+
+    private void sendAndComplete(SseEmitter emitter, String event, Object data) {
+        send(emitter, event, data);
+        emitter.complete();
+    }
+}
@@ -0,0 +1,173 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.dto.InventorySummaryAnalysisDTO;
+import com.inventory.saas.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class AnalysisJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisJobService.class);
+
+    private final AiForecastService aiForecastService;
+    private final TenantDataVersionService dataVersionService;
+    private final BillingGuard billingGuard;
+    private final ThreadPoolTaskExecutor analysisJobExecutor;
+
+    private final ConcurrentHashMap<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> jobIdsByVersion = new ConcurrentHashMap<>();
+
+    @Value("${ai.analysis.jobs.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public record AnalysisJob(String id, String tenantId, long dataVersion, Status status,
+                              Instant createdAt, Instant finishedAt, InventorySummaryAnalysisDTO result, String error) {
+
+        AnalysisJob running() {
+            return new AnalysisJob(id, tenantId, dataVersion, Status.RUNNING, createdAt, null, null, null);
+        }
+
+        AnalysisJob completed(InventorySummaryAnalysisDTO analysis) {
+            return new AnalysisJob(id, tenantId, dataVersion, Status.COMPLETED, createdAt, Instant.now(), analysis, null);
+        }
+
+        AnalysisJob failed(String reason) {
+            return new AnalysisJob(id, tenantId, dataVersion, Status.FAILED, createdAt, Instant.now(), null, reason);
+        }
+    }
+
+    public AnalysisJobService(AiForecastService aiForecastService,
+                              TenantDataVersionService dataVersionService,
+                              BillingGuard billingGuard,
+                              @Qualifier("analysisJobExecutor") ThreadPoolTaskExecutor analysisJobExecutor) {
+        this.aiForecastService = aiForecastService;
+        this.dataVersionService = dataVersionService;
+        this.billingGuard = billingGuard;
+        this.analysisJobExecutor = analysisJobExecutor;
+    }
+
+    public AnalysisJob enqueue(String tenantId, String plan) {
+        long version = dataVersionService.current(tenantId);
+        String key = versionKey(tenantId, version);
+
+        String existingId = jobIdsByVersion.get(key);
+        AnalysisJob existing = existingId != null ? jobs.get(existingId) : null;
+        if (existing != null && existing.status() != Status.FAILED) {
+            logger.debug("Analysis job {} already covers tenant {} at data version {}", existing.id(), tenantId, version);
+            return existing;
+        }
+
+        InventorySummaryAnalysisDTO cached = aiForecastService.cachedAnalysis(tenantId);
+        if (cached != null && !cached.isStale()) {
+            AnalysisJob done = new AnalysisJob(UUID.randomUUID().toString(), tenantId, version, Status.QUEUED,
+                    Instant.now(), null, null, null).completed(cached);
+            jobs.put(done.id(), done);
+            jobIdsByVersion.compute(key, (k, currentId) -> isLive(currentId) ? currentId : done.id());
+            return done;
+        }
+
+        billingGuard.validateTokenBudget(tenantId, plan);
+
+        AnalysisJob[] created = new AnalysisJob[1];
+        String jobId = jobIdsByVersion.compute(key, (k, currentId) -> {
+            if (isLive(currentId)) return currentId;
+
+            AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), tenantId, version, Status.QUEUED,
+                    Instant.now(), null, null, null);
+            jobs.put(job.id(), job);
+            created[0] = job;
+            return job.id();
+        });
+
+        if (created[0] == null) return jobs.get(jobId);
+
+        try {
+            analysisJobExecutor.execute(() -> run(jobId, plan));
+        } catch (TaskRejectedException e) {
+            jobIdsByVersion.remove(key, jobId);
+            jobs.remove(jobId);
+            logger.warn("Analysis job queue full, rejecting job for tenant {}", tenantId);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "AI analysis queue is full. Please try again in a few minutes.");
+        }
+
+        logger.info("Analysis job {} queued for tenant {} at data version {}", jobId, tenantId, version);
+        return created[0];
+    }
+
+    public AnalysisJob getJob(String tenantId, String jobId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null || !job.tenantId().equals(tenantId)) {
+            throw new ResourceNotFoundException("Analysis job not found");
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${ai.analysis.jobs.cleanup-interval-ms:300000}")
+    public void cleanupExpiredJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(ttlMinutes));
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt() != null && job.finishedAt().isBefore(cutoff);
+            if (expired) jobIdsByVersion.remove(versionKey(job.tenantId(), job.dataVersion()), job.id());
+            return expired;
+        });
+    }
+
+    private void run(String jobId, String plan) {
+        AnalysisJob job = jobs.computeIfPresent(jobId, (id, j) -> j.running());
+        if (job == null) return;
+
+        try {
+            AiForecastService.AnalysisSnapshot snapshot = aiForecastService.generateAnalysis(job.tenantId(), plan, job.dataVersion());
+            if (snapshot.version() < 0) {
+                logger.warn("Analysis job {} for tenant {} finished without a result", jobId, job.tenantId());
+                fail(job, "AI provider is unavailable. Please try again shortly.");
+                return;
+            }
+            if (snapshot.version() < job.dataVersion() || snapshot.analysis().isStale()) {
+                logger.warn("Analysis job {} for tenant {} got data version {} instead of {}",
+                        jobId, job.tenantId(), snapshot.version(), job.dataVersion());
+                fail(job, "AI analysis could not be refreshed for the latest data. Please try again shortly.");
+                return;
+            }
+            jobs.computeIfPresent(jobId, (id, j) -> j.completed(snapshot.analysis()));
+            logger.info("Analysis job {} completed for tenant {} at data version {}", jobId, job.tenantId(), snapshot.version());
+        } catch (ResponseStatusException e) {
+            logger.warn("Analysis job {} failed for tenant {}: {}", jobId, job.tenantId(), e.getReason());
+            fail(job, e.getReason());
+        } catch (Exception e) {
+            logger.error("Analysis job {} failed for tenant {}: {}", jobId, job.tenantId(), e.getMessage(), e);
+            fail(job, "AI analysis failed.");
+        }
+    }
+
+    private void fail(AnalysisJob job, String reason) {
+        jobs.computeIfPresent(job.id(), (id, j) -> j.failed(reason));
+        jobIdsByVersion.remove(versionKey(job.tenantId(), job.dataVersion()), job.id());
+    }
+
+    private boolean isLive(String jobId) {
+        AnalysisJob job = jobId != null ? jobs.get(jobId) : null;
+        return job != null && job.status() != Status.FAILED;
+    }
+
+    private static String versionKey(String tenantId, long version) {
+        return tenantId + ":" + version;
+    }
+}
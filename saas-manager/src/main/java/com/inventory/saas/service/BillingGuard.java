@@ -1,10 +1,13 @@
 package com.inventory.saas.service;
 
+import com.inventory.saas.config.CacheConfig;
 import com.inventory.saas.repository.InventoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -20,6 +23,9 @@ public class BillingGuard {
 
     private static final Logger logger = LoggerFactory.getLogger(BillingGuard.class);
     private final InventoryRepository inventoryRepository;
+    private final TenantDataVersionService dataVersionService;
+    private final CacheManager cacheManager;
+    private final MetricsService metricsService;
 
     @Autowired(required = false)
     private StringRedisTemplate redisTemplate;
@@ -30,10 +36,13 @@ public class BillingGuard {
 
     public record UsageStats(long currentSkus, int skuLimit, int currentReports, int reportLimit, long currentTokens, int tokenLimit) {}
 
-    public PlanLimits getLimits(String plan) {
+    public static String planTier(String plan) {
         String normalizedPlan = (plan == null) ? "free" : plan.toLowerCase();
+        return (normalizedPlan.contains("pro") || normalizedPlan.contains("test")) ? "pro" : "free";
+    }
 
-        if (normalizedPlan.contains("pro") || normalizedPlan.contains("test")) {
+    public PlanLimits getLimits(String plan) {
+        if ("pro".equals(planTier(plan))) {
             return new PlanLimits(1000, 10000, 50, 500000);
         }
 
@@ -43,7 +52,7 @@ public class BillingGuard {
     public UsageStats getUsageStats(String tenantId, String plan) {
         PlanLimits limits = getLimits(plan);
 
-        long skus = inventoryRepository.countByTenantId(tenantId);
+        long skus = currentSkuCount(tenantId);
 
         String reportKey = "usage:report:" + tenantId + ":" + LocalDate.now();
         String reportVal = getValue(reportKey);
@@ -56,6 +65,13 @@ public class BillingGuard {
         return new UsageStats(skus, limits.skuLimit(), reports, limits.dailyReportLimit(), tokens, limits.monthlyTokenLimit());
     }
 
+    private long currentSkuCount(String tenantId) {
+        Cache usageCache = cacheManager.getCache(CacheConfig.USAGE_CACHE);
+        String key = "skus:" + tenantId + ":" + dataVersionService.current(tenantId);
+        Long count = usageCache.get(key, () -> inventoryRepository.countByTenantId(tenantId));
+        return (count != null) ? count : 0L;
+    }
+
     private String getValue(String key) {
         if (redisTemplate != null) {
             try {
@@ -80,9 +96,10 @@ public class BillingGuard {
     }
 
     public void validateSkuLimit(String tenantId, String plan) {
-        long currentSkus = inventoryRepository.countByTenantId(tenantId);
+        long currentSkus = currentSkuCount(tenantId);
         int limit = getLimits(plan).skuLimit();
 
+        metricsService.recordBillingCheck("sku", plan, currentSkus < limit);
         if (currentSkus >= limit) {
             logger.warn("SKU Limit Blocked: Tenant {} (Plan: {}) has {}/{} SKUs", tenantId, plan, currentSkus, limit);
             throw new ResponseStatusException(HttpStatus.PAYMENT_REQUIRED,
@@ -91,16 +108,26 @@ public class BillingGuard {
     }
 
     public void validateReportLimit(String tenantId, String plan) {
+        checkReportLimit(tenantId, plan);
+        recordReportUsage(tenantId);
+    }
+
+    public void checkReportLimit(String tenantId, String plan) {
         String key = "usage:report:" + tenantId + ":" + LocalDate.now();
         String current = getValue(key);
         int limit = getLimits(plan).dailyReportLimit();
 
-        if (current != null && Integer.parseInt(current) >= limit) {
+        boolean blocked = current != null && Integer.parseInt(current) >= limit;
+        metricsService.recordBillingCheck("report", plan, !blocked);
+        if (blocked) {
             logger.warn("Report Limit Blocked: Tenant {} reached daily limit of {}", tenantId, limit);
             throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
                     "Daily PDF report limit reached for the " + plan + " plan.");
         }
+    }
 
+    public void recordReportUsage(String tenantId) {
+        String key = "usage:report:" + tenantId + ":" + LocalDate.now();
         String currentValue = getValue(key);
         int newValue = (currentValue != null) ? Integer.parseInt(currentValue) + 1 : 1;
         setValue(key, String.valueOf(newValue));
@@ -111,7 +138,9 @@ public class BillingGuard {
         String current = getValue(key);
         int limit = getLimits(plan).monthlyTokenLimit();
 
-        if (current != null && Long.parseLong(current) >= limit) {
+        boolean blocked = current != null && Long.parseLong(current) >= limit;
+        metricsService.recordBillingCheck("tokens", plan, !blocked);
+        if (blocked) {
             logger.warn("AI Token Budget Blocked: Tenant {} exhausted {} tokens", tenantId, limit);
             throw new ResponseStatusException(HttpStatus.PAYMENT_REQUIRED,
                     "Monthly AI analysis budget exhausted. Upgrade to Pro for higher limits.");
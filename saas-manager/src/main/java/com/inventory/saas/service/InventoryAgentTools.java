@@ -3,7 +3,6 @@ package com.inventory.saas.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.saas.config.TenantContext;
-import com.inventory.saas.dto.StockAIInsightDTO;
 import com.inventory.saas.dto.StockMovementResponseDTO;
 import com.inventory.saas.exception.ResourceNotFoundException;
 import com.inventory.saas.model.InventoryItem;
@@ -15,11 +14,8 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Component
 public class InventoryAgentTools {
@@ -42,6 +38,64 @@ public class InventoryAgentTools {
         this.objectMapper = objectMapper;
     }
 
+    public record StockItem(String id, String name, String sku, Integer quantity, Integer minThreshold) {}
+
+    public record StockSummary(List<StockItem> items, long total) {}
+
+    public record TransactionEntry(String id, String itemName, String type, Integer quantityChange,
+                                   String reason, String performedBy, String createdAt) {}
+
+    public record ItemHistoryEntry(String type, Integer quantityChange, String reason, String performedBy, String createdAt) {}
+
+    public record ItemForecast(String itemName, String sku, Integer currentQuantity, Integer daysRemaining,
+                               String predictedDepletionDate, String healthStatus, Integer suggestedThreshold,
+                               String thresholdReason) {}
+
+    public record MovementRecorded(boolean success, String transactionId, String itemName, String type, Integer quantityChange) {}
+
+    public StockSummary stockSummary(String tenantId) {
+        Page<InventoryItem> page = inventoryService.getAllItemsPaginated(tenantId, null, null, 0, 100);
+        logger.info("Found {} inventory items for tenant: {}", page.getTotalElements(), tenantId);
+        List<StockItem> items = page.getContent().stream()
+                .map(item -> new StockItem(
+                        item.getId() != null ? item.getId().toString() : null,
+                        item.getName(),
+                        item.getSku(),
+                        item.getQuantity(),
+                        item.getMinThreshold()))
+                .toList();
+        return new StockSummary(items, page.getTotalElements());
+    }
+
+    public List<TransactionEntry> recentTransactions(String tenantId) {
+        List<StockMovementResponseDTO> list = inventoryService.getRecentTransactionsRaw(tenantId);
+        logger.info("Found {} recent transactions for tenant: {}", list.size(), tenantId);
+        return list.stream()
+                .map(dto -> new TransactionEntry(
+                        dto.getId() != null ? dto.getId().toString() : null,
+                        dto.getItemName(),
+                        dto.getType(),
+                        dto.getQuantityChange(),
+                        dto.getReason(),
+                        dto.getPerformedBy(),
+                        dto.getCreatedAt() != null ? dto.getCreatedAt().toString() : null))
+                .toList();
+    }
+
+    public List<ItemForecast> itemForecasts(String tenantId) {
+        return aiForecastService.calculateAllItemForecasts(tenantId).stream()
+                .map(f -> new ItemForecast(
+                        f.getItemName() != null ? f.getItemName() : "Unknown Item",
+                        f.getSku() != null ? f.getSku() : "N/A",
+                        f.getCurrentQuantity() != null ? f.getCurrentQuantity() : 0,
+                        f.getDaysRemaining() != null ? f.getDaysRemaining() : 0,
+                        f.getPredictedDepletionDate() != null ? f.getPredictedDepletionDate().toString() : null,
+                        f.getHealthStatus() != null ? f.getHealthStatus() : "",
+                        f.getSuggestedThreshold() != null ? f.getSuggestedThreshold() : 0,
+                        f.getThresholdReason()))
+                .toList();
+    }
+
     public String getCurrentStockSummary() {
         String tenantId = TenantContext.getTenantId();
         logger.info("getCurrentStockSummary called for tenant: {}", tenantId);
@@ -49,28 +103,7 @@ public class InventoryAgentTools {
             logger.warn("No tenant ID found for getCurrentStockSummary");
             return NO_TENANT_MSG;
         }
-        try {
-            Page<InventoryItem> page = inventoryService.getAllItemsPaginated(tenantId, null, null, 0, 100);
-            logger.info("Found {} inventory items for tenant: {}", page.getTotalElements(), tenantId);
-            List<Map<String, Object>> items = page.getContent().stream()
-                    .map(item -> {
-                        Map<String, Object> m = new HashMap<>();
-                        m.put("id", item.getId() != null ? item.getId().toString() : null);
-                        m.put("name", item.getName());
-                        m.put("sku", item.getSku());
-                        m.put("quantity", item.getQuantity());
-                        m.put("minThreshold", item.getMinThreshold());
-                        return m;
-                    })
-                    .collect(Collectors.toList());
-            Map<String, Object> result = new HashMap<>();
-            result.put("items", items);
-            result.put("total", page.getTotalElements());
-            return objectMapper.writeValueAsString(result);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize stock summary", e);
-            return "Failed to serialize stock summary.";
-        }
+        return toJson(stockSummary(tenantId), "Failed to serialize stock summary.");
     }
 
     public String getRecentTransactions() {
@@ -81,32 +114,7 @@ public class InventoryAgentTools {
             logger.warn("No tenant ID found for getRecentTransactions");
             return NO_TENANT_MSG;
         }
-
-        try {
-            List<StockMovementResponseDTO> list = inventoryService.getRecentTransactionsRaw(tenantId);
-            logger.info("Found {} recent transactions for tenant: {}", list.size(), tenantId);
-
-            if (list.isEmpty()) {
-                logger.info("No transactions found for tenant: {}", tenantId);
-                return "[]";
-            }
-
-            List<Map<String, Object>> data = list.stream().map(dto -> {
-                Map<String, Object> m = new HashMap<>();
-                m.put("id", dto.getId() != null ? dto.getId().toString() : null);
-                m.put("itemName", dto.getItemName());
-                m.put("type", dto.getType());
-                m.put("quantityChange", dto.getQuantityChange());
-                m.put("reason", dto.getReason());
-                m.put("performedBy", dto.getPerformedBy());
-                m.put("createdAt", dto.getCreatedAt() != null ? dto.getCreatedAt().toString() : null);
-                return m;
-            }).collect(Collectors.toList());
-            return objectMapper.writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize recent transactions", e);
-            return "Failed to serialize recent transactions.";
-        }
+        return toJson(recentTransactions(tenantId), "Failed to serialize recent transactions.");
     }
 
     public String getItemTransactionHistory(String itemId) {
@@ -124,46 +132,21 @@ public class InventoryAgentTools {
         if (!tenantId.equals(item.getTenantId())) {
             return "Error: Item does not belong to the current tenant.";
         }
-        try {
-            List<StockTransaction> history = inventoryService.getItemHistory(id);
-            List<Map<String, Object>> data = history.stream().map(t -> {
-                Map<String, Object> m = new HashMap<>();
-                m.put("type", t.getType());
-                m.put("quantityChange", t.getQuantityChange());
-                m.put("reason", t.getReason());
-                m.put("performedBy", t.getPerformedBy());
-                m.put("createdAt", t.getCreatedAt() != null ? t.getCreatedAt().toString() : null);
-                return m;
-            }).collect(Collectors.toList());
-            return objectMapper.writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize item history", e);
-            return "Failed to serialize item history.";
-        }
+        List<ItemHistoryEntry> history = inventoryService.getItemHistory(id).stream()
+                .map(t -> new ItemHistoryEntry(
+                        t.getType(),
+                        t.getQuantityChange(),
+                        t.getReason(),
+                        t.getPerformedBy(),
+                        t.getCreatedAt() != null ? t.getCreatedAt().toString() : null))
+                .toList();
+        return toJson(history, "Failed to serialize item history.");
     }
 
     public String getItemForecasts() {
         String tenantId = TenantContext.getTenantId();
         if (tenantId == null) return NO_TENANT_MSG;
-        try {
-            List<StockAIInsightDTO> forecasts = aiForecastService.calculateAllItemForecasts(tenantId);
-            List<Map<String, Object>> data = forecasts.stream().map(f -> {
-                Map<String, Object> m = new HashMap<>();
-                m.put("itemName", f.getItemName());
-                m.put("sku", f.getSku());
-                m.put("currentQuantity", f.getCurrentQuantity());
-                m.put("daysRemaining", f.getDaysRemaining());
-                m.put("predictedDepletionDate", f.getPredictedDepletionDate() != null ? f.getPredictedDepletionDate().toString() : null);
-                m.put("healthStatus", f.getHealthStatus());
-                m.put("suggestedThreshold", f.getSuggestedThreshold());
-                m.put("thresholdReason", f.getThresholdReason());
-                return m;
-            }).collect(Collectors.toList());
-            return objectMapper.writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize item forecasts", e);
-            return "Failed to serialize item forecasts.";
-        }
+        return toJson(itemForecasts(tenantId), "Failed to serialize item forecasts.");
     }
 
     public String recordStockMovement(String itemId, int amount, String type, String reason, String performedBy) {
@@ -194,18 +177,24 @@ public class InventoryAgentTools {
                     reason != null ? reason : "Agent-recorded movement",
                     performedBy != null ? performedBy : "Inventory Agent"
             );
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("transactionId", tx.getId() != null ? tx.getId().toString() : null);
-            result.put("itemName", item.getName());
-            result.put("type", tx.getType());
-            result.put("quantityChange", tx.getQuantityChange());
-            return objectMapper.writeValueAsString(result);
+            MovementRecorded result = new MovementRecorded(
+                    true,
+                    tx.getId() != null ? tx.getId().toString() : null,
+                    item.getName(),
+                    tx.getType(),
+                    tx.getQuantityChange());
+            return toJson(result, "Movement recorded but failed to serialize result.");
         } catch (ResourceNotFoundException e) {
             return "Error: Item not found.";
+        }
+    }
+
+    private String toJson(Object result, String failureMessage) {
+        try {
+            return objectMapper.writeValueAsString(result);
         } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize record result", e);
-            return "Movement recorded but failed to serialize result.";
+            logger.warn(failureMessage, e);
+            return failureMessage;
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.inventory.saas.service;
 
+import com.inventory.saas.ai.matching.PerformerIndexService;
 import com.inventory.saas.dto.InventoryTrashDTO;
 import com.inventory.saas.dto.StockMovementResponseDTO;
 import com.inventory.saas.exception.ResourceNotFoundException;
@@ -9,7 +10,6 @@ import com.inventory.saas.repository.InventoryRepository;
 import com.inventory.saas.repository.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,10 +28,17 @@ public class InventoryService {
     private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
     private final InventoryRepository repository;
     private final TransactionRepository transactionRepository;
+    private final TenantDataVersionService dataVersionService;
+    private final PerformerIndexService performerIndexService;
 
-    public InventoryService(InventoryRepository repository, TransactionRepository transactionRepository) {
+    public InventoryService(InventoryRepository repository,
+                            TransactionRepository transactionRepository,
+                            TenantDataVersionService dataVersionService,
+                            PerformerIndexService performerIndexService) {
         this.repository = repository;
         this.transactionRepository = transactionRepository;
+        this.dataVersionService = dataVersionService;
+        this.performerIndexService = performerIndexService;
     }
 
     public Page<InventoryItem> getAllItemsPaginated(String tenantId, String search, String category, int page, int size) {
@@ -43,7 +50,6 @@ public class InventoryService {
     }
 
     @Transactional
-    @CacheEvict(value = "ai-analysis", key = "#item.tenantId")
     public InventoryItem saveItem(InventoryItem item) {
         if (item.getSku() != null && !item.getSku().trim().isEmpty()) {
             boolean exists = repository.existsBySkuAndTenantId(item.getSku(), item.getTenantId());
@@ -51,11 +57,12 @@ public class InventoryService {
                 throw new RuntimeException("Product with SKU '" + item.getSku() + "' already exists.");
             }
         }
-        return repository.save(item);
+        InventoryItem saved = repository.save(item);
+        dataVersionService.bumpAfterCommit(saved.getTenantId());
+        return saved;
     }
 
     @Transactional
-    @CacheEvict(value = "ai-analysis", key = "#details.tenantId")
     public InventoryItem updateItem(UUID id, InventoryItem details) {
         return repository.findById(id).map(item -> {
             item.setName(details.getName());
@@ -63,7 +70,9 @@ public class InventoryService {
             item.setCategory(details.getCategory());
             item.setMinThreshold(details.getMinThreshold());
             item.setPrice(details.getPrice());
-            return repository.save(item);
+            InventoryItem saved = repository.save(item);
+            dataVersionService.bumpAfterCommit(saved.getTenantId());
+            return saved;
         }).orElseThrow(() -> new ResourceNotFoundException("Item not found"));
     }
 
@@ -72,8 +81,6 @@ public class InventoryService {
         InventoryItem item = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found"));
 
-        evictAiCache(item.getTenantId());
-
         int adjustment = type.equalsIgnoreCase("STOCK_OUT") ? -Math.abs(amount) : Math.abs(amount);
         item.setQuantity(item.getQuantity() + adjustment);
         repository.save(item);
@@ -86,7 +93,10 @@ public class InventoryService {
         transaction.setReason(reason);
         transaction.setPerformedBy(performedBy != null ? performedBy : "System");
 
-        return transactionRepository.save(transaction);
+        StockTransaction saved = transactionRepository.save(transaction);
+        dataVersionService.bumpAfterCommit(item.getTenantId());
+        performerIndexService.recordAfterCommit(item.getTenantId(), saved.getPerformedBy());
+        return saved;
     }
 
     @Transactional
@@ -94,8 +104,6 @@ public class InventoryService {
         InventoryItem item = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found"));
 
-        evictAiCache(item.getTenantId());
-
         StockTransaction deleteLog = new StockTransaction();
         deleteLog.setInventoryItem(item);
         deleteLog.setTenantId(item.getTenantId());
@@ -106,6 +114,8 @@ public class InventoryService {
 
         transactionRepository.save(deleteLog);
         repository.softDeleteById(id);
+        dataVersionService.bumpAfterCommit(item.getTenantId());
+        performerIndexService.recordAfterCommit(item.getTenantId(), performedBy);
     }
 
     @Transactional
@@ -114,8 +124,8 @@ public class InventoryService {
         InventoryItem item = repository.findByIdIncludingDeleted(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found"));
 
-        evictAiCache(item.getTenantId());
         repository.restoreById(id);
+        dataVersionService.bumpAfterCommit(item.getTenantId());
     }
 
     @Transactional
@@ -123,16 +133,11 @@ public class InventoryService {
         InventoryItem item = repository.findByIdIncludingDeleted(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found"));
 
-        evictAiCache(item.getTenantId());
-
         transactionRepository.deleteByInventoryItemIdNative(id);
         repository.flush();
         repository.hardDeleteNative(id);
-    }
-
-    @CacheEvict(value = "ai-analysis", key = "#tenantId")
-    public void evictAiCache(String tenantId) {
-        logger.info("Evicting AI cache for tenant: {}", tenantId);
+        dataVersionService.bumpAfterCommit(item.getTenantId());
+        performerIndexService.evictAfterCommit(item.getTenantId());
     }
 
     public List<InventoryTrashDTO> getTrashItems(String tenantId) {
@@ -0,0 +1,101 @@
+package com.inventory.saas.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class MetricsService {
+
+    public static final String OTHER_TENANTS = "other";
+    public static final String NO_TENANT = "none";
+
+    private final MeterRegistry registry;
+    private final int maxTaggedTenants;
+    private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+
+    public MetricsService(MeterRegistry registry,
+                          @Value("${metrics.tenant-tag.max-tenants:50}") int maxTaggedTenants) {
+        this.registry = registry;
+        this.maxTaggedTenants = maxTaggedTenants;
+    }
+
+    public String tenantTag(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) return NO_TENANT;
+        if (taggedTenants.contains(tenantId)) return tenantId;
+
+        synchronized (taggedTenants) {
+            if (taggedTenants.contains(tenantId) || taggedTenants.size() < maxTaggedTenants) {
+                taggedTenants.add(tenantId);
+                return tenantId;
+            }
+        }
+        return OTHER_TENANTS;
+    }
+
+    public void recordLlmCall(String operation, String outcome, long nanos) {
+        Timer.builder("llm.call")
+                .description("Latency of LLM calls made for AI analysis")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTokens(String tenantId, long promptTokens, long generationTokens) {
+        String tenant = tenantTag(tenantId);
+        tokenCounter(tenant, "prompt").increment(promptTokens);
+        tokenCounter(tenant, "generation").increment(generationTokens);
+    }
+
+    public void recordBillingCheck(String check, String plan, boolean allowed) {
+        Counter.builder("billing.guard.checks")
+                .description("Plan limit checks by outcome")
+                .tag("check", check)
+                .tag("plan", BillingGuard.planTier(plan))
+                .tag("outcome", allowed ? "allowed" : "blocked")
+                .register(registry)
+                .increment();
+    }
+
+    public void recordRateLimitCall(long nanos, String outcome) {
+        Timer.builder("ratelimit.redis.rtt")
+                .description("Round trip of the Redis token bucket check")
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReportPhase(String phase, long nanos, boolean success) {
+        Timer.builder("report.pdf.render")
+                .description("Weekly report data loading and PDF rendering time")
+                .tag("phase", phase)
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReportSize(long bytes) {
+        DistributionSummary.builder("report.pdf.size")
+                .description("Size of rendered weekly report PDFs")
+                .baseUnit("bytes")
+                .register(registry)
+                .record(bytes);
+    }
+
+    private Counter tokenCounter(String tenant, String type) {
+        return Counter.builder("llm.tokens")
+                .description("LLM tokens consumed per tenant")
+                .baseUnit("tokens")
+                .tag("tenant", tenant)
+                .tag("type", type)
+                .register(registry);
+    }
+}
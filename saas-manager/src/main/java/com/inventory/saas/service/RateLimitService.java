@@ -7,6 +7,7 @@ import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisURI;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,9 @@ public class RateLimitService {
     private LettuceBasedProxyManager<byte[]> proxyManager;
     private RedisClient redisClient;
 
+    @Autowired
+    private MetricsService metricsService;
+
     @Value("${spring.data.redis.host}")
     private String redisHost;
 
@@ -56,6 +60,14 @@ public class RateLimitService {
                         .build())
                 .build();
 
-        return proxyManager.builder().build(key.getBytes(), configSupplier).tryConsume(1);
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            boolean allowed = proxyManager.builder().build(key.getBytes(), configSupplier).tryConsume(1);
+            outcome = allowed ? "allowed" : "limited";
+            return allowed;
+        } finally {
+            metricsService.recordRateLimitCall(System.nanoTime() - start, outcome);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.inventory.saas.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class RedisLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisLeaseService.class);
+    private static final String KEY_PREFIX = "lease:";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Autowired(required = false)
+    private StringRedisTemplate redisTemplate;
+
+    public String tryAcquire(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        if (redisTemplate == null) return token;
+
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + name, token, ttl);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            logger.warn("Redis not available, skipping cluster lease for: {}", name);
+            return token;
+        }
+    }
+
+    public void release(String name, String token) {
+        if (redisTemplate == null) return;
+
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + name), token);
+        } catch (Exception e) {
+            logger.warn("Failed to release lease {}: {}", name, e.getMessage());
+        }
+    }
+}
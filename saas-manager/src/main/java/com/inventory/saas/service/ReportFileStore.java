@@ -0,0 +1,79 @@
+package com.inventory.saas.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+@Component
+public class ReportFileStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportFileStore.class);
+    private static final String SUFFIX = ".pdf";
+
+    @Value("${reports.jobs.dir:${java.io.tmpdir}/saas-manager-reports}")
+    private String directory;
+
+    private Path root;
+
+    @FunctionalInterface
+    public interface ReportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        this.root = Path.of(directory);
+        Files.createDirectories(root);
+    }
+
+    public Path store(String jobId, ReportWriter writer) throws IOException {
+        Path target = pathFor(jobId);
+        Path temp = Files.createTempFile(root, jobId, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            return Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path pathFor(String jobId) {
+        return root.resolve(jobId + SUFFIX);
+    }
+
+    public void delete(String jobId) {
+        try {
+            Files.deleteIfExists(pathFor(jobId));
+        } catch (IOException e) {
+            logger.warn("Failed to delete report file for job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    public int deleteOlderThan(Duration ttl) {
+        Instant cutoff = Instant.now().minus(ttl);
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to clean up report files in {}: {}", root, e.getMessage());
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,144 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final ReportService reportService;
+    private final ReportFileStore fileStore;
+    private final BillingGuard billingGuard;
+    private final ThreadPoolTaskExecutor reportJobExecutor;
+
+    private final ConcurrentHashMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> activeJobsPerTenant = new ConcurrentHashMap<>();
+
+    @Value("${reports.jobs.per-tenant-limit:2}")
+    private int perTenantLimit;
+
+    @Value("${reports.jobs.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public record ReportJob(String id, String tenantId, String orgName, Status status,
+                            Instant createdAt, Instant finishedAt, String error) {
+
+        ReportJob withStatus(Status newStatus, String newError) {
+            Instant finished = (newStatus == Status.COMPLETED || newStatus == Status.FAILED) ? Instant.now() : finishedAt;
+            return new ReportJob(id, tenantId, orgName, newStatus, createdAt, finished, newError);
+        }
+    }
+
+    public ReportJobService(ReportService reportService,
+                            ReportFileStore fileStore,
+                            BillingGuard billingGuard,
+                            @Qualifier("reportJobExecutor") ThreadPoolTaskExecutor reportJobExecutor) {
+        this.reportService = reportService;
+        this.fileStore = fileStore;
+        this.billingGuard = billingGuard;
+        this.reportJobExecutor = reportJobExecutor;
+    }
+
+    public ReportJob enqueue(String tenantId, String orgName, String plan) {
+        AtomicInteger active = activeJobsPerTenant.computeIfAbsent(tenantId, k -> new AtomicInteger());
+        if (active.incrementAndGet() > perTenantLimit) {
+            active.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many report jobs in progress. Please wait for the current report to finish.");
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), tenantId, orgName, Status.QUEUED, Instant.now(), null, null);
+        try {
+            byte[] cached = reportService.cachedWeeklyReport(tenantId, orgName);
+            if (cached == null) {
+                billingGuard.checkReportLimit(tenantId, plan);
+            }
+
+            jobs.put(job.id(), job);
+            reportJobExecutor.execute(() -> run(job.id(), cached));
+            if (cached == null) {
+                billingGuard.recordReportUsage(tenantId);
+            }
+        } catch (TaskRejectedException e) {
+            active.decrementAndGet();
+            jobs.remove(job.id());
+            logger.warn("Report job queue full, rejecting job for tenant {}", tenantId);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Report queue is full. Please try again in a few minutes.");
+        } catch (RuntimeException e) {
+            active.decrementAndGet();
+            throw e;
+        }
+
+        logger.info("Report job {} queued for tenant {}", job.id(), tenantId);
+        return job;
+    }
+
+    public ReportJob getJob(String tenantId, String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null || !job.tenantId().equals(tenantId)) {
+            throw new ResourceNotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+    public Path getResult(ReportJob job) {
+        return fileStore.pathFor(job.id());
+    }
+
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval-ms:600000}")
+    public void cleanupExpiredJobs() {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        Instant cutoff = Instant.now().minus(ttl);
+
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt() != null && job.finishedAt().isBefore(cutoff);
+            if (expired) fileStore.delete(job.id());
+            return expired;
+        });
+        int orphans = fileStore.deleteOlderThan(ttl);
+        if (orphans > 0) {
+            logger.info("Removed {} expired report files", orphans);
+        }
+    }
+
+    private void run(String jobId, byte[] cached) {
+        ReportJob job = jobs.computeIfPresent(jobId, (id, j) -> j.withStatus(Status.RUNNING, null));
+        if (job == null) return;
+
+        try {
+            if (cached != null) {
+                fileStore.store(jobId, out -> out.write(cached));
+            } else {
+                fileStore.store(jobId, out -> reportService.renderWeeklyReport(job.tenantId(), job.orgName(), out));
+            }
+            jobs.computeIfPresent(jobId, (id, j) -> j.withStatus(Status.COMPLETED, null));
+            logger.info("Report job {} completed for tenant {}", jobId, job.tenantId());
+        } catch (Exception e) {
+            logger.error("Report job {} failed for tenant {}: {}", jobId, job.tenantId(), e.getMessage(), e);
+            jobs.computeIfPresent(jobId, (id, j) -> j.withStatus(Status.FAILED, "Report generation failed."));
+        } finally {
+            activeJobsPerTenant.get(job.tenantId()).decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.inventory.saas.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "reports.prerender.enabled", havingValue = "true")
+public class ReportPrerenderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportPrerenderScheduler.class);
+
+    private final ReportService reportService;
+
+    @Value("${reports.prerender.active-days:7}")
+    private int activeDays;
+
+    public ReportPrerenderScheduler(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @Scheduled(cron = "${reports.prerender.cron:0 0 3 * * *}")
+    public void prerenderActiveTenants() {
+        Map<String, ReportService.ReportRequest> tenants = reportService.activeReportTenants(Duration.ofDays(activeDays));
+        int rendered = 0;
+
+        for (Map.Entry<String, ReportService.ReportRequest> entry : tenants.entrySet()) {
+            try {
+                if (reportService.prerenderWeeklyReport(entry.getKey(), entry.getValue().orgName())) {
+                    rendered++;
+                }
+            } catch (Exception e) {
+                logger.warn("Report pre-render failed for tenant {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+
+        logger.info("Report pre-render finished: {} of {} active tenants rendered", rendered, tenants.size());
+    }
+}
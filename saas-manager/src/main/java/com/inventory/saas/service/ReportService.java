@@ -1,5 +1,8 @@
 package com.inventory.saas.service;
 
+import com.inventory.saas.config.CacheConfig;
+import com.inventory.saas.config.TenantContext;
+import com.inventory.saas.dto.InventoryValuationDTO;
 import com.inventory.saas.model.InventoryItem;
 import com.inventory.saas.model.StockTransaction;
 import com.inventory.saas.repository.InventoryRepository;
@@ -8,33 +11,257 @@ import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
-import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 public class ReportService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+    private static final int TABLE_CHUNK_ROWS = 200;
+    private static final int RECENT_ACTIVITY_LIMIT = 10;
+
     private final InventoryRepository inventoryRepository;
     private final TransactionRepository transactionRepository;
     private final BillingGuard billingGuard;
+    private final Executor reportQueryExecutor;
+    private final TenantDataVersionService dataVersionService;
+    private final MetricsService metricsService;
+    private final Cache reportCache;
+
+    @Value("${reports.sync-max-skus:5000}")
+    private long syncMaxSkus;
+
+    private final ConcurrentHashMap<String, ReportRequest> recentRequests = new ConcurrentHashMap<>();
+
+    public record WeeklyReportData(InventoryValuationDTO valuation, List<StockTransaction> recentActivity, List<InventoryItem> lowStock) {}
+
+    public record RenderedReport(byte[] content, String eTag) {}
+
+    public record ReportRequest(String orgName, Instant requestedAt) {}
+
+    public ReportService(InventoryRepository inventoryRepository,
+                         TransactionRepository transactionRepository,
+                         BillingGuard billingGuard,
+                         @Qualifier("reportQueryExecutor") Executor reportQueryExecutor,
+                         TenantDataVersionService dataVersionService,
+                         MetricsService metricsService,
+                         CacheManager cacheManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.billingGuard = billingGuard;
+        this.reportQueryExecutor = reportQueryExecutor;
+        this.dataVersionService = dataVersionService;
+        this.metricsService = metricsService;
+        this.reportCache = cacheManager.getCache(CacheConfig.WEEKLY_REPORTS_CACHE);
+    }
 
     public byte[] generateWeeklyReport(String tenantId, String orgName, String plan) {
-        billingGuard.validateReportLimit(tenantId, plan);
+        return getWeeklyReport(tenantId, orgName, plan).content();
+    }
+
+    public RenderedReport getWeeklyReport(String tenantId, String orgName, String plan) {
+        recentRequests.put(tenantId, new ReportRequest(orgName, Instant.now()));
+
+        long version = dataVersionService.current(tenantId);
+        String eTag = reportETag(tenantId, orgName, version);
+        byte[] cached = reportCache.get(reportCacheKey(tenantId, orgName, version), byte[].class);
+        if (cached != null) {
+            logger.info("Serving cached weekly report for tenant {} at data version {}", tenantId, version);
+            return new RenderedReport(cached, eTag);
+        }
+
+        billingGuard.checkReportLimit(tenantId, plan);
+        byte[] pdf;
+        try {
+            pdf = renderAndCache(tenantId, orgName, version);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Weekly report rendering failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Report generation failed. Please try again.");
+        }
+        billingGuard.recordReportUsage(tenantId);
+        return new RenderedReport(pdf, eTag);
+    }
+
+    public byte[] cachedWeeklyReport(String tenantId, String orgName) {
+        long version = dataVersionService.current(tenantId);
+        return reportCache.get(reportCacheKey(tenantId, orgName, version), byte[].class);
+    }
+
+    public boolean isLargeTenant(String tenantId) {
+        return inventoryRepository.countByTenantIdAndDeletedFalse(tenantId) > syncMaxSkus;
+    }
+
+    public void renderWeeklyReport(String tenantId, String orgName, OutputStream out) throws IOException {
+        out.write(renderAndCache(tenantId, orgName, dataVersionService.current(tenantId)));
+    }
+
+    public String currentReportETag(String tenantId, String orgName) {
+        return reportETag(tenantId, orgName, dataVersionService.current(tenantId));
+    }
+
+    public Map<String, ReportRequest> activeReportTenants(Duration window) {
+        Instant cutoff = Instant.now().minus(window);
+        recentRequests.entrySet().removeIf(e -> e.getValue().requestedAt().isBefore(cutoff));
+        return Map.copyOf(recentRequests);
+    }
+
+    public boolean prerenderWeeklyReport(String tenantId, String orgName) throws IOException {
+        long version = dataVersionService.current(tenantId);
+        if (reportCache.get(reportCacheKey(tenantId, orgName, version)) != null) {
+            return false;
+        }
+        renderAndCache(tenantId, orgName, version);
+        return true;
+    }
 
+    private byte[] renderAndCache(String tenantId, String orgName, long version) throws IOException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeWeeklyReport(tenantId, orgName, out);
+
+        byte[] pdf = out.toByteArray();
+        metricsService.recordReportSize(pdf.length);
+        reportCache.put(reportCacheKey(tenantId, orgName, version), pdf);
+        return pdf;
+    }
+
+    private String reportCacheKey(String tenantId, String orgName, long version) {
+        return tenantId + ":" + version + ":" + orgName;
+    }
+
+    private String reportETag(String tenantId, String orgName, long version) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(reportCacheKey(tenantId, orgName, version).getBytes(StandardCharsets.UTF_8));
+            return "\"" + version + "-" + HexFormat.of().formatHex(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public StreamingResponseBody streamWeeklyReport(String tenantId, String orgName, String plan) {
+        recentRequests.put(tenantId, new ReportRequest(orgName, Instant.now()));
+
+        long version = dataVersionService.current(tenantId);
+        byte[] cached = reportCache.get(reportCacheKey(tenantId, orgName, version), byte[].class);
+        if (cached != null) {
+            logger.info("Streaming cached weekly report for tenant {} at data version {}", tenantId, version);
+            return out -> out.write(cached);
+        }
+
+        billingGuard.checkReportLimit(tenantId, plan);
+        return out -> {
+            TenantContext.setTenantId(tenantId);
+            try {
+                ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                writeWeeklyReport(tenantId, orgName, new TeeOutputStream(out, copy));
+
+                byte[] pdf = copy.toByteArray();
+                metricsService.recordReportSize(pdf.length);
+                reportCache.put(reportCacheKey(tenantId, orgName, version), pdf);
+                billingGuard.recordReportUsage(tenantId);
+            } finally {
+                TenantContext.clear();
+            }
+        };
+    }
+
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream client;
+        private final ByteArrayOutputStream copy;
+
+        TeeOutputStream(OutputStream client, ByteArrayOutputStream copy) {
+            this.client = client;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            client.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            client.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            client.flush();
+        }
+    }
+
+    public WeeklyReportData loadReportData(String tenantId) {
+        CompletableFuture<InventoryValuationDTO> valuation =
+                supplyForTenant(tenantId, () -> inventoryRepository.findValuationByTenantId(tenantId));
+        CompletableFuture<List<StockTransaction>> recent =
+                supplyForTenant(tenantId, () -> transactionRepository.findRecentWithItemByTenantId(tenantId, PageRequest.of(0, RECENT_ACTIVITY_LIMIT)));
+        CompletableFuture<List<InventoryItem>> lowStock =
+                supplyForTenant(tenantId, () -> inventoryRepository.findLowStockByTenantId(tenantId));
+
+        try {
+            CompletableFuture.allOf(valuation, recent, lowStock).join();
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof RuntimeException re) ? re : e;
+        }
+        return new WeeklyReportData(valuation.join(), recent.join(), lowStock.join());
+    }
+
+    private <T> CompletableFuture<T> supplyForTenant(String tenantId, Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> TenantContext.callWithTenant(tenantId, query), reportQueryExecutor);
+    }
+
+    private void writeWeeklyReport(String tenantId, String orgName, OutputStream out) throws IOException {
+        long loadStart = System.nanoTime();
+        WeeklyReportData data;
+        try {
+            data = loadReportData(tenantId);
+        } catch (RuntimeException e) {
+            metricsService.recordReportPhase("load", System.nanoTime() - loadStart, false);
+            throw e;
+        }
+
+        long renderStart = System.nanoTime();
+        metricsService.recordReportPhase("load", renderStart - loadStart, true);
+        boolean rendered = false;
         Document document = new Document(PageSize.A4);
 
         try {
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
 
             Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, Color.BLACK);
@@ -51,74 +278,83 @@ public class ReportService {
             date.setSpacingAfter(20);
             document.add(date);
 
-            List<InventoryItem> items = inventoryRepository.findAllByTenantId(tenantId);
-
-            BigDecimal totalValuation = items.stream()
-                    .map(i -> {
-                        BigDecimal price = (i.getPrice() != null) ? i.getPrice() : BigDecimal.ZERO;
-                        BigDecimal qty = (i.getQuantity() != null) ? BigDecimal.valueOf(i.getQuantity()) : BigDecimal.ZERO;
-                        return price.multiply(qty);
-                    })
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal totalValuation = data.valuation().getTotalValuation() != null
+                    ? data.valuation().getTotalValuation()
+                    : BigDecimal.ZERO;
 
             document.add(new Paragraph("Summary Statistics", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
             document.add(new Paragraph("Total Valuation: $" + totalValuation.setScale(2, RoundingMode.HALF_UP), bodyFont));
-            document.add(new Paragraph("Total Unique SKUs: " + items.size(), bodyFont));
+            document.add(new Paragraph("Total Unique SKUs: " + data.valuation().getSkuCount(), bodyFont));
             document.add(new Paragraph(" "));
+            writer.flush();
 
             document.add(new Paragraph("Recent Activity (Top 10)", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
-            List<StockTransaction> recent = transactionRepository.findTop10ByTenantIdOrderByCreatedAtDesc(tenantId);
-
-            PdfPTable transTable = new PdfPTable(4);
-            transTable.setWidthPercentage(100);
-            transTable.setSpacingBefore(10);
-            String[] tHeaders = {"Date", "Item", "Action", "Qty"};
-
-            for (String h : tHeaders) {
-                PdfPCell cell = new PdfPCell(new Paragraph(h, headFont));
-                cell.setBackgroundColor(new Color(51, 65, 85));
-                cell.setPadding(5);
-                transTable.addCell(cell);
-            }
 
-            for (StockTransaction t : recent) {
+            PdfPTable transTable = createTable(new String[]{"Date", "Item", "Action", "Qty"}, headFont, new Color(51, 65, 85), 5);
+            int transRows = 0;
+            for (StockTransaction t : data.recentActivity()) {
                 transTable.addCell(new PdfPCell(new Paragraph(t.getCreatedAt().toString().substring(0,10), bodyFont)));
                 String itemName = (t.getInventoryItem() != null) ? t.getInventoryItem().getName() : "Deleted Item";
                 transTable.addCell(new PdfPCell(new Paragraph(itemName, bodyFont)));
                 transTable.addCell(new PdfPCell(new Paragraph(t.getType().toString(), bodyFont)));
                 transTable.addCell(new PdfPCell(new Paragraph(String.valueOf(t.getQuantityChange()), bodyFont)));
+                flushChunk(document, writer, transTable, ++transRows);
             }
-            document.add(transTable);
+            completeTable(document, writer, transTable);
             document.add(new Paragraph(" "));
 
             document.add(new Paragraph("Low Stock Alerts", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
-            PdfPTable table = new PdfPTable(4);
-            table.setWidthPercentage(100);
-            table.setSpacingBefore(10);
-
-            String[] headers = {"Item Name", "SKU", "Qty", "Threshold"};
-            for (String h : headers) {
-                PdfPCell cell = new PdfPCell(new Paragraph(h, headFont));
-                cell.setBackgroundColor(new Color(30, 41, 59));
-                cell.setPadding(8);
-                table.addCell(cell);
+            PdfPTable table = createTable(new String[]{"Item Name", "SKU", "Qty", "Threshold"}, headFont, new Color(30, 41, 59), 8);
+            int lowStockRows = 0;
+            for (InventoryItem i : data.lowStock()) {
+                table.addCell(new PdfPCell(new Paragraph(i.getName(), bodyFont)));
+                table.addCell(new PdfPCell(new Paragraph(i.getSku(), bodyFont)));
+                table.addCell(new PdfPCell(new Paragraph(String.valueOf(i.getQuantity()), bodyFont)));
+                table.addCell(new PdfPCell(new Paragraph(String.valueOf(i.getMinThreshold()), bodyFont)));
+                flushChunk(document, writer, table, ++lowStockRows);
             }
+            completeTable(document, writer, table);
+            document.close();
+            rendered = true;
+        } catch (DocumentException e) {
+            throw new IOException("Failed to render weekly report for tenant " + tenantId, e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+            metricsService.recordReportPhase("render", System.nanoTime() - renderStart, rendered);
+        }
+        out.flush();
+    }
 
-            items.stream()
-                    .filter(i -> i.getQuantity() <= (i.getMinThreshold() != null ? i.getMinThreshold() : 5))
-                    .forEach(i -> {
-                        table.addCell(new PdfPCell(new Paragraph(i.getName(), bodyFont)));
-                        table.addCell(new PdfPCell(new Paragraph(i.getSku(), bodyFont)));
-                        table.addCell(new PdfPCell(new Paragraph(String.valueOf(i.getQuantity()), bodyFont)));
-                        table.addCell(new PdfPCell(new Paragraph(String.valueOf(i.getMinThreshold()), bodyFont)));
-                    });
+    private PdfPTable createTable(String[] headers, Font headFont, Color headerColor, float padding) {
+        PdfPTable table = new PdfPTable(headers.length);
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(10);
+        table.setHeaderRows(1);
+        table.setComplete(false);
 
-            document.add(table);
-            document.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+        for (String h : headers) {
+            PdfPCell cell = new PdfPCell(new Paragraph(h, headFont));
+            cell.setBackgroundColor(headerColor);
+            cell.setPadding(padding);
+            table.addCell(cell);
         }
+        return table;
+    }
+
+    private void flushChunk(Document document, PdfWriter writer, PdfPTable table, int rowsWritten) throws DocumentException {
+        if (rowsWritten % TABLE_CHUNK_ROWS != 0) return;
+
+        document.add(table);
+        table.setSkipFirstHeader(true);
+        table.setSpacingBefore(0);
+        writer.flush();
+    }
 
-        return out.toByteArray();
+    private void completeTable(Document document, PdfWriter writer, PdfPTable table) throws DocumentException {
+        table.setComplete(true);
+        document.add(table);
+        writer.flush();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,281 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.ai.matching.PerformerIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    static final String SKU_PREFIX = "SYN-";
+
+    private static final String INSERT_ITEM =
+            "INSERT INTO inventory (id, tenant_id, name, sku, category, quantity, min_threshold, price, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'N')";
+    private static final String UPDATE_ITEM_QUANTITY = "UPDATE inventory SET quantity = ? WHERE id = ?";
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO stock_transactions (id, tenant_id, inventory_item_id, quantity_change, type, reason, performed_by, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] CATEGORIES = {"Hardware", "Electrical", "Packaging", "Tools", "Safety", "Plumbing", "Office"};
+    private static final String[] ADJECTIVES = {"Blue", "Steel", "Copper", "Heavy", "Compact", "Industrial", "Mini", "Coated", "Green", "Reinforced"};
+    private static final String[] NOUNS = {"Widget", "Bolt", "Bracket", "Hinge", "Panel", "Cable", "Valve", "Box", "Glove", "Clamp", "Filter", "Seal"};
+    private static final String[] FIRST_NAMES = {"Ivan", "Maria", "John", "Aiko", "Pedro", "Fatima", "Chen", "Olga", "Samuel", "Nadia", "Liam", "Priya"};
+    private static final String[] LAST_NAMES = {"Petrov", "Garcia", "Smith", "Tanaka", "Silva", "Khan", "Wei", "Ivanova", "Okafor", "Haddad", "Murphy", "Rao"};
+    private static final String[] IN_REASONS = {"Supplier delivery", "Restock", "Customer return"};
+    private static final String[] OUT_REASONS = {"Sale", "Sale", "Sale", "Damaged", "Internal use"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantDataVersionService dataVersionService;
+    private final PerformerIndexService performerIndexService;
+
+    @Value("${synthetic-data.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${synthetic-data.max-rows:20000000}")
+    private long maxRows;
+
+    public record Request(int tenants, int itemsPerTenant, int transactionsPerTenant, int days,
+                          int performersPerTenant, double skuSkew, int workers, long seed, String tenantPrefix) {}
+
+    public record Report(int tenants, long items, long transactions, long elapsedMillis, long rowsPerSecond,
+                         List<String> tenantIds) {}
+
+    private record TenantTotals(String tenantId, long items, long transactions) {}
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  TenantDataVersionService dataVersionService,
+                                  PerformerIndexService performerIndexService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataVersionService = dataVersionService;
+        this.performerIndexService = performerIndexService;
+    }
+
+    public Report generate(Request request) {
+        validate(request);
+        List<String> targets = new ArrayList<>(request.tenants());
+        for (int t = 0; t < request.tenants(); t++) {
+            targets.add(request.tenantPrefix() + "-" + t);
+        }
+        rejectNonSyntheticTenants(targets);
+
+        long start = System.nanoTime();
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(request.workers(), r -> {
+            Thread thread = new Thread(r, "synthetic-data-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Future<TenantTotals>> futures = new ArrayList<>(request.tenants());
+        try {
+            for (int t = 0; t < request.tenants(); t++) {
+                String tenantId = targets.get(t);
+                long seed = request.seed() * 31 + t;
+                futures.add(workers.submit(() -> transactionTemplate.execute(status -> generateTenant(tenantId, request, seed))));
+            }
+
+            long items = 0;
+            long transactions = 0;
+            List<String> tenantIds = new ArrayList<>(request.tenants());
+            for (Future<TenantTotals> future : futures) {
+                TenantTotals totals = future.get();
+                items += totals.items();
+                transactions += totals.transactions();
+                tenantIds.add(totals.tenantId());
+            }
+
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            long rowsPerSecond = (items + transactions) * 1000 / elapsedMillis;
+            logger.info("Generated {} tenants, {} items, {} transactions in {} ms ({} rows/s)",
+                    request.tenants(), items, transactions, elapsedMillis, rowsPerSecond);
+            return new Report(request.tenants(), items, transactions, elapsedMillis, rowsPerSecond, tenantIds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IllegalStateException("Synthetic data generation failed: " + cause.getMessage(), cause);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+            workers.shutdownNow();
+        }
+    }
+
+    private TenantTotals generateTenant(String tenantId, Request request, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int itemCount = request.itemsPerTenant();
+
+        jdbcTemplate.update("DELETE FROM stock_transactions WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM inventory WHERE tenant_id = ?", tenantId);
+
+        UUID[] itemIds = new UUID[itemCount];
+        int[] stock = new int[itemCount];
+        int[] minThreshold = new int[itemCount];
+        List<Object[]> batch = new ArrayList<>(Math.min(batchSize, itemCount));
+        for (int i = 0; i < itemCount; i++) {
+            itemIds[i] = uuid(random);
+            stock[i] = 50 + random.nextInt(450);
+            minThreshold[i] = 5 + random.nextInt(45);
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + (i + 1);
+            BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(50_000), 2);
+            batch.add(new Object[]{itemIds[i], tenantId, name, String.format(SKU_PREFIX + "%06d", i + 1),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], stock[i], minThreshold[i], price});
+            if (batch.size() == batchSize) flush(INSERT_ITEM, batch);
+        }
+        flush(INSERT_ITEM, batch);
+
+        String[] performers = new String[request.performersPerTenant()];
+        for (int p = 0; p < performers.length; p++) {
+            performers[p] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                    + (p >= FIRST_NAMES.length ? " " + (p + 1) : "");
+        }
+
+        ZipfSampler skuPopularity = new ZipfSampler(itemCount, request.skuSkew());
+        ZipfSampler performerActivity = new ZipfSampler(performers.length, 1.0);
+        long[] timestamps = seasonalTimestamps(random, request.transactionsPerTenant(), request.days());
+
+        for (long epochMinute : timestamps) {
+            int item = skuPopularity.sample(random);
+            boolean out = random.nextDouble() < 0.7;
+            int amount = 1 + (int) Math.min(60, -Math.log(1 - random.nextDouble()) * 6);
+            String reason;
+            if (out && stock[item] >= amount) {
+                stock[item] -= amount;
+                amount = -amount;
+                reason = OUT_REASONS[random.nextInt(OUT_REASONS.length)];
+            } else {
+                amount = out ? minThreshold[item] * 3 : amount * 5;
+                stock[item] += amount;
+                reason = IN_REASONS[random.nextInt(IN_REASONS.length)];
+            }
+            batch.add(new Object[]{uuid(random), tenantId, itemIds[item], amount, amount < 0 ? "STOCK_OUT" : "STOCK_IN",
+                    reason, performers[performerActivity.sample(random)], LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC)});
+            if (batch.size() == batchSize) flush(INSERT_TRANSACTION, batch);
+        }
+        flush(INSERT_TRANSACTION, batch);
+
+        for (int i = 0; i < itemCount; i++) {
+            batch.add(new Object[]{stock[i], itemIds[i]});
+            if (batch.size() == batchSize) flush(UPDATE_ITEM_QUANTITY, batch);
+        }
+        flush(UPDATE_ITEM_QUANTITY, batch);
+
+        dataVersionService.bumpAfterCommit(tenantId);
+        performerIndexService.evictAfterCommit(tenantId);
+        logger.debug("Generated {} items and {} transactions for tenant {}", itemCount, timestamps.length, tenantId);
+        return new TenantTotals(tenantId, itemCount, timestamps.length);
+    }
+
+    private void rejectNonSyntheticTenants(List<String> tenantIds) {
+        String placeholders = String.join(", ", Collections.nCopies(tenantIds.size(), "?"));
+        List<String> owned = jdbcTemplate.queryForList(
+                "SELECT DISTINCT tenant_id FROM inventory WHERE tenant_id IN (" + placeholders + ")"
+                        + " AND (sku IS NULL OR sku NOT LIKE '" + SKU_PREFIX + "%')",
+                String.class, tenantIds.toArray());
+        if (!owned.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Tenant prefix collides with existing non-synthetic tenants: " + owned);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+    }
+
+    private long[] seasonalTimestamps(SplittableRandom random, int count, int days) {
+        LocalDate firstDay = LocalDate.now().minusDays(days - 1L);
+        double[] dayWeight = new double[days];
+        double maxWeight = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate day = firstDay.plusDays(d);
+            double weekly = switch (day.getDayOfWeek()) {
+                case SATURDAY, SUNDAY -> 0.35;
+                case MONDAY -> 1.2;
+                default -> 1.0;
+            };
+            double annual = 1 + 0.3 * Math.sin(2 * Math.PI * (day.getDayOfYear() - 80) / 365.0);
+            dayWeight[d] = weekly * annual;
+            maxWeight = Math.max(maxWeight, dayWeight[d]);
+        }
+
+        long firstMinute = firstDay.toEpochDay() * 24 * 60;
+        long[] timestamps = new long[count];
+        for (int i = 0; i < count; i++) {
+            int d;
+            do {
+                d = random.nextInt(days);
+            } while (random.nextDouble() * maxWeight > dayWeight[d]);
+            int minuteOfDay = 7 * 60 + random.nextInt(12 * 60);
+            timestamps[i] = firstMinute + d * 24L * 60 + minuteOfDay;
+        }
+        Arrays.sort(timestamps);
+        return timestamps;
+    }
+
+    private void validate(Request request) {
+        if (request.tenants() <= 0 || request.itemsPerTenant() <= 0 || request.transactionsPerTenant() < 0
+                || request.days() <= 0 || request.performersPerTenant() <= 0 || request.workers() <= 0
+                || request.skuSkew() < 0 || request.tenantPrefix() == null || request.tenantPrefix().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Synthetic data parameters must be positive and tenantPrefix must not be blank.");
+        }
+        long rows = (long) request.tenants() * ((long) request.itemsPerTenant() + request.transactionsPerTenant());
+        if (rows > maxRows) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Requested " + rows + " rows exceeds synthetic-data.max-rows (" + maxRows + ").");
+        }
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    static final class ZipfSampler {
+        private final double[] cdf;
+
+        ZipfSampler(int size, double skew) {
+            cdf = new double[size];
+            double sum = 0;
+            for (int rank = 1; rank <= size; rank++) {
+                sum += 1 / Math.pow(rank, skew);
+                cdf[rank - 1] = sum;
+            }
+            for (int i = 0; i < size; i++) cdf[i] /= sum;
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            int rank = index >= 0 ? index : -index - 1;
+            return Math.min(rank, cdf.length - 1);
+        }
+    }
+}
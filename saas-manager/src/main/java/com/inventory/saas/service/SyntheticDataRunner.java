@@ -0,0 +1,67 @@
+package com.inventory.saas.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "synthetic-data.run-on-startup", havingValue = "true")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${synthetic-data.tenants:10}")
+    private int tenants;
+
+    @Value("${synthetic-data.items:500}")
+    private int items;
+
+    @Value("${synthetic-data.transactions:10000}")
+    private int transactions;
+
+    @Value("${synthetic-data.days:365}")
+    private int days;
+
+    @Value("${synthetic-data.performers:25}")
+    private int performers;
+
+    @Value("${synthetic-data.skew:1.1}")
+    private double skew;
+
+    @Value("${synthetic-data.workers:4}")
+    private int workers;
+
+    @Value("${synthetic-data.seed:42}")
+    private long seed;
+
+    @Value("${synthetic-data.tenant-prefix:synthetic}")
+    private String tenantPrefix;
+
+    @Value("${synthetic-data.exit-after-run:true}")
+    private boolean exitAfterRun;
+
+    public SyntheticDataRunner(SyntheticDataGenerator generator, ConfigurableApplicationContext context) {
+        this.generator = generator;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SyntheticDataGenerator.Report report = generator.generate(new SyntheticDataGenerator.Request(
+                tenants, items, transactions, days, performers, skew, workers, seed, tenantPrefix));
+        logger.info("Synthetic data ready: {}", report);
+
+        if (exitAfterRun) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.inventory.saas.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TenantDataVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantDataVersionService.class);
+    private static final String KEY_PREFIX = "tenant:data-version:";
+
+    @Autowired(required = false)
+    private StringRedisTemplate redisTemplate;
+
+    private final ConcurrentHashMap<String, AtomicLong> memoryVersions = new ConcurrentHashMap<>();
+
+    public long current(String tenantId) {
+        if (redisTemplate != null) {
+            try {
+                String key = KEY_PREFIX + tenantId;
+                String value = redisTemplate.opsForValue().get(key);
+                long remote = (value != null) ? Long.parseLong(value) : 0L;
+                long local = local(tenantId);
+                if (local > remote) {
+                    Long caughtUp = redisTemplate.opsForValue().increment(key, local - remote);
+                    if (caughtUp != null) remote = caughtUp;
+                }
+                return observe(tenantId, remote);
+            } catch (Exception e) {
+                logger.warn("Redis not available, using memory fallback for data version of tenant: {}", tenantId);
+            }
+        }
+        return local(tenantId);
+    }
+
+    public long bump(String tenantId) {
+        if (redisTemplate != null) {
+            try {
+                String key = KEY_PREFIX + tenantId;
+                Long value = redisTemplate.opsForValue().increment(key);
+                if (value != null) {
+                    long local = local(tenantId);
+                    if (value <= local) {
+                        Long bumpedPast = redisTemplate.opsForValue().increment(key, local + 1 - value);
+                        if (bumpedPast != null) value = bumpedPast;
+                    }
+                    return observe(tenantId, value);
+                }
+            } catch (Exception e) {
+                logger.warn("Redis not available, using memory fallback for data version of tenant: {}", tenantId);
+            }
+        }
+        return memoryVersions.computeIfAbsent(tenantId, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long local(String tenantId) {
+        AtomicLong version = memoryVersions.get(tenantId);
+        return (version != null) ? version.get() : 0L;
+    }
+
+    private long observe(String tenantId, long version) {
+        return memoryVersions.computeIfAbsent(tenantId, k -> new AtomicLong()).accumulateAndGet(version, Math::max);
+    }
+
+    public void bumpAfterCommit(String tenantId) {
+        if (tenantId == null) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(tenantId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(tenantId);
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.inventory.saas.service;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "threads.pinning.monitor-enabled"}, havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Value("${threads.pinning.threshold-ms:20}")
+    private long thresholdMillis;
+
+    @Value("${threads.pinning.stack-depth:12}")
+    private int stackDepth;
+
+    private final ConcurrentHashMap<String, PinnedSiteStats> sites = new ConcurrentHashMap<>();
+    private final LongAdder pinnedEvents = new LongAdder();
+
+    private volatile RecordingStream stream;
+
+    public record PinnedSite(String frame, long count, long totalMillis, long maxMillis) {}
+
+    private static final class PinnedSiteStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private volatile long maxMillis;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) return;
+
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Virtual thread pinning monitor started (threshold {} ms)", thresholdMillis);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream == null) return;
+        stream.close();
+        stream = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long pinnedEvents() {
+        return pinnedEvents.sum();
+    }
+
+    public List<PinnedSite> topSites(int limit) {
+        return sites.entrySet().stream()
+                .map(e -> new PinnedSite(e.getKey(), e.getValue().count.sum(), e.getValue().totalMillis.sum(), e.getValue().maxMillis))
+                .sorted(Comparator.comparingLong(PinnedSite::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long millis = event.getDuration().toMillis();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = pinnedSite(frames);
+
+        pinnedEvents.increment();
+        boolean first = !sites.containsKey(site);
+        PinnedSiteStats stats = sites.computeIfAbsent(site, k -> new PinnedSiteStats());
+        stats.count.increment();
+        stats.totalMillis.add(millis);
+        if (millis > stats.maxMillis) stats.maxMillis = millis;
+
+        if (first) {
+            logger.warn("Virtual thread pinned its carrier for {} ms at {}\n{}", millis, site, format(frames));
+        } else {
+            logger.debug("Virtual thread pinned its carrier for {} ms at {}", millis, site);
+        }
+    }
+
+    private String pinnedSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) continue;
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.")) continue;
+            return describe(frame);
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private String format(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(stackDepth)
+                .map(frame -> "    at " + describe(frame))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
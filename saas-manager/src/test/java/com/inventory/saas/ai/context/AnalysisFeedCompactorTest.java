@@ -0,0 +1,152 @@
+package com.inventory.saas.ai.context;
+
+import com.inventory.saas.model.InventoryItem;
+import com.inventory.saas.model.StockTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisFeedCompactorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 14);
+    private static final int WINDOW_DAYS = 90;
+    private static final Pattern ITEM_LINE = Pattern.compile("^- (.+?) \\[(.+?)] \\| qty (\\d+) min (\\d+) \\| in (\\d+) out (\\d+)", Pattern.MULTILINE);
+    private static final Pattern RAW_LINE = Pattern.compile("^- Item: (.+?) \\| Action: (.+?) \\| Qty: (\\d+)$", Pattern.MULTILINE);
+
+    private final AnalysisFeedCompactor compactor = new AnalysisFeedCompactor();
+    private List<StockTransaction> history;
+
+    @BeforeEach
+    void setUp() {
+        history = sampleHistory();
+    }
+
+    @Test
+    void compactFeedIsFarSmallerThanRawFeed() {
+        String raw = rawFeed(history);
+
+        AnalysisFeedCompactor.CompactFeed feed = compactor.compact(history, TODAY, WINDOW_DAYS, 100_000);
+
+        assertEquals(feed.itemsTotal(), feed.itemsIncluded());
+        assertEquals(TokenEstimator.estimate(feed.text()), feed.estimatedTokens());
+        assertTrue(feed.estimatedTokens() * 5 < TokenEstimator.estimate(raw),
+                "compact=" + feed.estimatedTokens() + " raw=" + TokenEstimator.estimate(raw));
+    }
+
+    @Test
+    void compactTotalsMatchRawFeed() {
+        Map<String, long[]> rawTotals = rawTotals(rawFeed(history));
+
+        AnalysisFeedCompactor.CompactFeed feed = compactor.compact(history, TODAY, WINDOW_DAYS, 100_000);
+
+        Matcher m = ITEM_LINE.matcher(feed.text());
+        int lines = 0;
+        while (m.find()) {
+            long[] expected = rawTotals.get(m.group(1));
+            assertNotNull(expected, "unknown item " + m.group(1));
+            assertEquals(expected[0], Long.parseLong(m.group(5)), "inbound for " + m.group(1));
+            assertEquals(expected[1], Long.parseLong(m.group(6)), "outbound for " + m.group(1));
+            lines++;
+        }
+        assertEquals(rawTotals.size(), lines);
+    }
+
+    @Test
+    void itemsAreRankedByStockOutRisk() {
+        AnalysisFeedCompactor.CompactFeed feed = compactor.compact(history, TODAY, WINDOW_DAYS, 100_000);
+
+        Matcher m = ITEM_LINE.matcher(feed.text());
+        assertTrue(m.find());
+        assertEquals("Critical Widget", m.group(1));
+        assertTrue(m.find());
+        assertEquals("Surging Gadget", m.group(1));
+        assertTrue(feed.text().contains("trend RISING"));
+    }
+
+    @Test
+    void feedFitsTokenBudgetAndKeepsRiskiestItems() {
+        int budget = 400;
+
+        AnalysisFeedCompactor.CompactFeed feed = compactor.compact(history, TODAY, WINDOW_DAYS, budget);
+
+        assertTrue(feed.estimatedTokens() <= budget, "tokens=" + feed.estimatedTokens());
+        assertTrue(feed.itemsIncluded() > 0);
+        assertTrue(feed.itemsIncluded() < feed.itemsTotal());
+        assertTrue(feed.text().contains("Critical Widget"));
+        assertTrue(feed.text().contains((feed.itemsTotal() - feed.itemsIncluded()) + " lower-risk items omitted"));
+    }
+
+    private List<StockTransaction> sampleHistory() {
+        Random random = new Random(42);
+        List<StockTransaction> txs = new ArrayList<>();
+
+        for (int i = 0; i < 40; i++) {
+            InventoryItem item = item("Steady Item " + i, "SKU-" + i, 400 + random.nextInt(400), 20);
+            for (int day = 0; day < WINDOW_DAYS; day++) {
+                if (random.nextInt(3) == 0) txs.add(movement(item, -1 - random.nextInt(4), day));
+                if (day % 14 == 0) txs.add(movement(item, 30 + random.nextInt(20), day));
+            }
+        }
+
+        InventoryItem critical = item("Critical Widget", "CW-1", 8, 25);
+        for (int day = 0; day < WINDOW_DAYS; day++) {
+            txs.add(movement(critical, -6, day));
+            txs.add(movement(critical, -4, day));
+        }
+
+        InventoryItem surging = item("Surging Gadget", "SG-1", 120, 10);
+        for (int day = 0; day < WINDOW_DAYS; day++) {
+            txs.add(movement(surging, day < 14 ? -20 : -1, day));
+        }
+
+        return txs;
+    }
+
+    private InventoryItem item(String name, String sku, int quantity, int minThreshold) {
+        InventoryItem item = new InventoryItem();
+        item.setId(UUID.randomUUID());
+        item.setName(name);
+        item.setSku(sku);
+        item.setQuantity(quantity);
+        item.setMinThreshold(minThreshold);
+        return item;
+    }
+
+    private StockTransaction movement(InventoryItem item, int change, int daysAgo) {
+        StockTransaction t = new StockTransaction();
+        t.setInventoryItem(item);
+        t.setQuantityChange(change);
+        t.setType(change < 0 ? "STOCK_OUT" : "STOCK_IN");
+        t.setCreatedAt(TODAY.minusDays(daysAgo).atTime(12, 0));
+        return t;
+    }
+
+    private String rawFeed(List<StockTransaction> txs) {
+        return txs.stream()
+                .map(t -> String.format("- Item: %s | Action: %s | Qty: %d",
+                        t.getInventoryItem().getName(), t.getType(), Math.abs(t.getQuantityChange())))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private Map<String, long[]> rawTotals(String raw) {
+        Map<String, long[]> totals = new HashMap<>();
+        Matcher m = RAW_LINE.matcher(raw);
+        while (m.find()) {
+            long[] t = totals.computeIfAbsent(m.group(1), k -> new long[2]);
+            t[m.group(2).contains("OUT") ? 1 : 0] += Long.parseLong(m.group(3));
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,75 @@
+package com.inventory.saas.ai.context;
+
+import com.inventory.saas.ai.matching.PerformerIndexService;
+import com.inventory.saas.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TransactionContextBuilderTest {
+
+    private static final String TENANT = "tenant-1";
+
+    private TransactionRepository repository;
+    private PerformerIndexService performerIndexService;
+    private TransactionContextBuilder builder;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(TransactionRepository.class);
+        performerIndexService = mock(PerformerIndexService.class);
+        builder = new TransactionContextBuilder(repository, performerIndexService);
+        ReflectionTestUtils.setField(builder, "windowDays", 90);
+        ReflectionTestUtils.setField(builder, "pageSize", 3);
+    }
+
+    @Test
+    void fullPageWithoutAnExtraRowHasNoMore() {
+        when(performerIndexService.match(TENANT, "alice")).thenReturn("Alice");
+        when(repository.findTransactionsRawByPerformer(eq(TENANT), eq("Alice"), any(), eq(4), eq(0))).thenReturn(rows(3));
+
+        TransactionContextBuilder.FilteredTransactions result = builder.filterRecentTransactionsByPerformedBy(TENANT, "alice");
+
+        assertEquals(3, result.data().size());
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    void extraRowSetsHasMoreAndIsTrimmed() {
+        when(repository.findTransactionsRawByItemName(eq(TENANT), eq("bolt"), any(), eq(4), eq(6))).thenReturn(rows(4));
+
+        TransactionContextBuilder.FilteredTransactions result = builder.filterRecentTransactionsByItemName(TENANT, "bolt", 2);
+
+        assertEquals(3, result.data().size());
+        assertEquals(3, result.total());
+        assertEquals(2, result.page());
+        assertTrue(result.hasMore());
+    }
+
+    @Test
+    void likeFiltersEscapeWildcards() {
+        builder.filterRecentTransactionsByItemName(TENANT, "100%_cotton\\");
+        builder.filterRecentTransactionsByPerformedBy(TENANT, "bob_");
+
+        verify(repository).findTransactionsRawByItemName(eq(TENANT), eq("100\\%\\_cotton\\\\"), any(), anyInt(), anyInt());
+        verify(repository).findTransactionsRawByPerformerLike(eq(TENANT), eq("bob\\_"), any(), anyInt(), anyInt());
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(Map.of("id", "t" + i, "quantityChange", -i, "itemName", "Bolt"));
+        }
+        return rows;
+    }
+}
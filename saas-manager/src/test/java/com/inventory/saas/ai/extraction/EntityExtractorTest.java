@@ -0,0 +1,98 @@
+package com.inventory.saas.ai.extraction;
+
+import com.inventory.saas.model.InventoryItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityExtractorTest {
+
+    private static final UUID WATCH_ID = UUID.randomUUID();
+    private static final UUID WATCH_PRO_ID = UUID.randomUUID();
+
+    private final EntityExtractor extractor = new EntityExtractor();
+    private final ItemCatalog catalog = ItemCatalog.of(List.of(
+            item(UUID.randomUUID(), "Apple", "AP-1"),
+            item(WATCH_ID, "Apple Watch", "AW-200"),
+            item(WATCH_PRO_ID, "Apple Watch Pro", "AW-300")));
+
+    @Test
+    void longestMultiWordCatalogItemIsSelected() {
+        Map<String, String> entities = extractor.extractEntities("show history for apple watch pro please", catalog);
+
+        assertEquals(WATCH_PRO_ID.toString(), entities.get("itemId"));
+        assertEquals("Apple Watch Pro", entities.get("itemName"));
+        assertEquals("itemName", entities.get("filterType"));
+        assertEquals("Apple Watch Pro", entities.get("filterValue"));
+    }
+
+    @Test
+    void skuResolvesToItsCatalogItem() {
+        Map<String, String> entities = extractor.extractEntities("movements of aw-200", catalog);
+
+        assertEquals(WATCH_ID.toString(), entities.get("itemId"));
+        assertEquals("Apple Watch", entities.get("filterValue"));
+    }
+
+    @Test
+    void performerKeepsPriorityOverCatalogItem() {
+        Map<String, String> entities = extractor.extractEntities("apple watch transactions by Ivan", catalog);
+
+        assertEquals("performedBy", entities.get("filterType"));
+        assertEquals("Ivan", entities.get("filterValue"));
+        assertEquals(WATCH_ID.toString(), entities.get("itemId"));
+    }
+
+    @Test
+    void noiseWordsAreDroppedFromTheTail() {
+        Map<String, String> entities = extractor.extractBasicEntities("show me transactions made by user Ivan Petrov please");
+
+        assertEquals("Ivan Petrov", entities.get("filterValue"));
+        assertEquals("Ivan Petrov", entities.get("personName"));
+    }
+
+    @Test
+    void tailStopsAtClauseBoundary() {
+        assertEquals("Ivan", extractor.extractBasicEntities("transactions by Ivan. Also show stock levels").get("filterValue"));
+        assertEquals("blue widget", extractor.extractBasicEntities("history for blue widget; thanks").get("filterValue"));
+        assertNull(extractor.extractBasicEntities("transactions by. Ivan").get("personName"));
+    }
+
+    @Test
+    void capitalizedWordIsTheLastResortItemName() {
+        Map<String, String> entities = extractor.extractBasicEntities("how is Gizmo doing?");
+
+        assertEquals("itemName", entities.get("filterType"));
+        assertEquals("Gizmo", entities.get("filterValue"));
+        assertTrue(extractor.extractBasicEntities("Show Transactions").isEmpty());
+    }
+
+    @Test
+    void pageReferenceIsExtractedAndKeptOutOfFilters() {
+        Map<String, String> entities = extractor.extractBasicEntities("transactions by Ivan page 2");
+
+        assertEquals("2", entities.get("page"));
+        assertEquals("performedBy", entities.get("filterType"));
+        assertEquals("Ivan", entities.get("filterValue"));
+    }
+
+    @Test
+    void pageWithoutANumberIsTreatedAsText() {
+        Map<String, String> entities = extractor.extractBasicEntities("history for Page Holder");
+
+        assertNull(entities.get("page"));
+        assertEquals("Page Holder", entities.get("filterValue"));
+    }
+
+    static InventoryItem item(UUID id, String name, String sku) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setName(name);
+        item.setSku(sku);
+        return item;
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventory.saas.ai.extraction;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static com.inventory.saas.ai.extraction.EntityExtractorTest.item;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemCatalogTest {
+
+    private static final UUID BOLT_ID = UUID.randomUUID();
+    private static final UUID HEX_BOLT_ID = UUID.randomUUID();
+    private static final UUID HEX_BOLT_M8_ID = UUID.randomUUID();
+
+    private final ItemCatalog catalog = ItemCatalog.of(Arrays.asList(
+            item(BOLT_ID, "Bolt", "B-1"),
+            item(HEX_BOLT_ID, "Hex Bolt", "HB-8"),
+            item(HEX_BOLT_M8_ID, "  Hex Bolt M8 ", null),
+            item(UUID.randomUUID(), "X", "X-1"),
+            item(null, "No Id", "N-1"),
+            null));
+
+    @Test
+    void invalidAndTooShortItemsAreSkipped() {
+        assertEquals(3, catalog.size());
+        assertNull(catalog.find(EntityExtractor.tokenize("x-1 stock")));
+        assertTrue(ItemCatalog.EMPTY.isEmpty());
+    }
+
+    @Test
+    void longestPhraseWinsAndReportsItsTokenSpan() {
+        ItemCatalog.Match match = catalog.find(EntityExtractor.tokenize("how many hex bolt m8 left"));
+
+        assertEquals(HEX_BOLT_M8_ID, match.itemId());
+        assertEquals("Hex Bolt M8", match.itemName());
+        assertEquals(2, match.firstToken());
+        assertEquals(4, match.lastToken());
+    }
+
+    @Test
+    void phraseCutOffAtTheEndFallsBackToAShorterItem() {
+        assertEquals(HEX_BOLT_ID, catalog.find(EntityExtractor.tokenize("history for hex bolt")).itemId());
+        assertEquals(BOLT_ID, catalog.find(EntityExtractor.tokenize("bolt hex")).itemId());
+    }
+
+    @Test
+    void skuMatchesCaseInsensitivelyButLosesToAMultiWordName() {
+        assertEquals(HEX_BOLT_ID, catalog.find(EntityExtractor.tokenize("movements of HB-8")).itemId());
+        assertEquals(HEX_BOLT_M8_ID, catalog.find(EntityExtractor.tokenize("b-1 or hex bolt m8")).itemId());
+    }
+
+    @Test
+    void unknownTokensDoNotMatch() {
+        assertNull(catalog.find(EntityExtractor.tokenize("nuts and washers")));
+        assertNull(ItemCatalog.of(List.of()).find(EntityExtractor.tokenize("bolt")));
+    }
+}
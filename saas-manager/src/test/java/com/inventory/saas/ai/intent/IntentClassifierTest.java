@@ -0,0 +1,112 @@
+package com.inventory.saas.ai.intent;
+
+import com.inventory.saas.ai.model.Intent;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntentClassifierTest {
+
+    private record Sample(Intent expected, String message) {}
+
+    private final IntentClassifier classifier = new IntentClassifier();
+
+    @Test
+    void labeledCorpusIsClassifiedCorrectly() throws Exception {
+        List<Sample> corpus = loadCorpus();
+        assertFalse(corpus.isEmpty());
+
+        List<String> failures = new ArrayList<>();
+        for (Sample sample : corpus) {
+            Intent actual = classifier.classifyBasicIntent(sample.message());
+            if (actual != sample.expected()) {
+                failures.add("'" + sample.message() + "' expected " + sample.expected() + " but was " + actual);
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    void betterFittingIntentWinsOverEarlierKeyword() {
+        IntentClassifier.Classification result = classifier.classify("When will the blue widgets run out of stock?");
+
+        assertEquals(Intent.FORECAST_QUERIES, result.best());
+        assertEquals(2, result.ranked().size());
+        assertEquals(Intent.STOCK_SUMMARY, result.ranked().get(1).intent());
+        assertTrue(result.confidence() > 0.5);
+    }
+
+    @Test
+    void lowAndStockTogetherFavourLowStockOverSummary() {
+        IntentClassifier.Classification result = classifier.classify("what's low on stock?");
+
+        assertEquals(Intent.LOW_STOCK, result.best());
+        assertEquals(Intent.STOCK_SUMMARY, result.ranked().get(1).intent());
+        assertEquals(Intent.LOW_STOCK, classifier.classifyBasicIntent("is the stock for bolts low"));
+        assertEquals(Intent.STOCK_SUMMARY, classifier.classifyBasicIntent("what's in stock"));
+    }
+
+    @Test
+    void confidencesAreNormalizedAcrossRankedIntents() {
+        IntentClassifier.Classification result = classifier.classify("recent transactions by alice");
+
+        double sum = result.ranked().stream().mapToDouble(IntentClassifier.ScoredIntent::confidence).sum();
+        assertEquals(1.0, sum, 1e-9);
+        for (int i = 1; i < result.ranked().size(); i++) {
+            assertTrue(result.ranked().get(i - 1).score() >= result.ranked().get(i).score());
+        }
+    }
+
+    @Test
+    void modifiersOnlyCountWithABaseMatch() {
+        assertEquals(Intent.OTHER, classifier.classifyBasicIntent("for the love of it, by and by"));
+    }
+
+    @Test
+    void phrasesMatchOnWordBoundariesOnly() {
+        assertEquals(Intent.OTHER, classifier.classifyBasicIntent("restocked lowland forecasting"));
+        assertEquals(Intent.LOW_STOCK, classifier.classifyBasicIntent("LOW STOCK!"));
+    }
+
+    @Test
+    void customPhraseTableIsUsed() {
+        IntentClassifier custom = new IntentClassifier(List.of(
+                new IntentClassifier.IntentPhrase(Intent.LOW_STOCK, 1.0, false, "reorder")));
+
+        assertEquals(Intent.LOW_STOCK, custom.classifyBasicIntent("what should I reorder?"));
+        assertEquals(Intent.OTHER, custom.classifyBasicIntent("show stock levels"));
+    }
+
+    @Test
+    void automatonReportsOverlappingMatches() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("stock", "low stock", "stock level"));
+        List<String> matches = new ArrayList<>();
+        String text = "Low stock level";
+
+        automaton.scan(text, (id, start, end) -> matches.add(text.substring(start, end).toLowerCase()));
+
+        assertEquals(List.of("low stock", "stock", "stock level"), matches);
+    }
+
+    private List<Sample> loadCorpus() throws Exception {
+        List<Sample> samples = new ArrayList<>();
+        InputStream in = getClass().getClassLoader().getResourceAsStream("intent-corpus.tsv");
+        assertNotNull(in, "intent-corpus.tsv missing from test resources");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] parts = line.split("\t", -1);
+                samples.add(new Sample(Intent.valueOf(parts[0].trim()), parts.length > 1 ? parts[1] : ""));
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,149 @@
+package com.inventory.saas.ai.llm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LlmExecutorTest {
+
+    private final ThreadPoolExecutor pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new SynchronousQueue<>());
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final AtomicLong clock = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void slowModelTimesOutAndFreesItsPermit() {
+        LlmExecutor executor = executor(4, 1, Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class,
+                () -> executor.call("t1", "analysis", slowModel(Duration.ofSeconds(10))));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(LlmUnavailableException.Reason.TIMEOUT, e.getFailureReason());
+        assertTrue(elapsedMillis < 2_000, "caller waited " + elapsedMillis + "ms");
+        assertEquals("ok", executor.call("t1", "analysis", () -> "ok"));
+        assertEquals(1, executor.getStats().timeouts());
+    }
+
+    @Test
+    void tenantBulkheadRejectsExtraCallsWithoutBlockingOtherTenants() throws Exception {
+        LlmExecutor executor = executor(4, 1, Duration.ofSeconds(5));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> blocked = callers.submit(() -> executor.call("busy", "analysis", () -> {
+            entered.countDown();
+            await(release);
+            return "done";
+        }));
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class,
+                () -> executor.call("busy", "analysis", () -> "second"));
+        assertEquals(LlmUnavailableException.Reason.BULKHEAD_FULL, e.getFailureReason());
+        assertEquals("other", executor.call("quiet", "analysis", () -> "other"));
+
+        release.countDown();
+        assertEquals("done", blocked.get(2, TimeUnit.SECONDS));
+        assertEquals(1, executor.getStats().rejected());
+    }
+
+    @Test
+    void globalBulkheadCapsConcurrentCalls() throws Exception {
+        LlmExecutor executor = executor(2, 2, Duration.ofSeconds(5));
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (String tenant : new String[]{"a", "b"}) {
+            callers.submit(() -> executor.call(tenant, "analysis", () -> {
+                entered.countDown();
+                await(release);
+                return tenant;
+            }));
+        }
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+
+        assertThrows(LlmUnavailableException.class, () -> executor.call("c", "analysis", () -> "c"));
+        assertEquals(2, executor.getStats().inFlight());
+        release.countDown();
+    }
+
+    @Test
+    void circuitOpensOnFailuresThenRecoversAfterTrialCall() {
+        LlmExecutor executor = executor(4, 4, Duration.ofSeconds(5));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(LlmUnavailableException.class, () -> executor.call("t1", "analysis", () -> {
+                throw new IllegalStateException("region down");
+            }));
+        }
+        assertEquals(LlmCircuitBreaker.State.OPEN, executor.circuitState());
+
+        AtomicInteger invocations = new AtomicInteger();
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class,
+                () -> executor.call("t1", "analysis", invocations::incrementAndGet));
+        assertEquals(LlmUnavailableException.Reason.CIRCUIT_OPEN, e.getFailureReason());
+        assertEquals(0, invocations.get());
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertEquals(LlmCircuitBreaker.State.HALF_OPEN, executor.circuitState());
+        assertEquals("ok", executor.call("t1", "analysis", () -> "ok"));
+        assertEquals(LlmCircuitBreaker.State.CLOSED, executor.circuitState());
+    }
+
+    @Test
+    void stalledStreamIsCutOffAndReleasesPermit() {
+        LlmExecutor executor = executor(1, 1, Duration.ofMillis(200));
+
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class,
+                () -> executor.stream("t1", "analysis-stream", Flux::<String>never).blockLast(Duration.ofSeconds(2)));
+        assertEquals(LlmUnavailableException.Reason.TIMEOUT, e.getFailureReason());
+        assertEquals(0, executor.getStats().inFlight());
+        assertEquals("ok", executor.stream("t1", "analysis-stream", () -> Flux.just("ok")).blockLast());
+    }
+
+    private LlmExecutor executor(int maxConcurrent, int perTenant, Duration callTimeout) {
+        LlmExecutor.Settings settings = new LlmExecutor.Settings(maxConcurrent, perTenant, Duration.ofMillis(50), callTimeout);
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(4, 4, 0.5, Duration.ofSeconds(30), clock::get);
+        return new LlmExecutor(pool, settings, breaker);
+    }
+
+    private static Supplier<String> slowModel(Duration latency) {
+        return () -> {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("cancelled", e);
+            }
+            return "late";
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventory.saas.ai.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformerIndexTest {
+
+    private final PerformerIndex index = new PerformerIndex(List.of(
+            "Ivan Petrov", "Ivana Smith", "John Smith", "Admin", "System", "Maria Garcia"));
+
+    @Test
+    void substringTiersKeepLegacyPrecedence() {
+        assertEquals("Ivan Petrov", index.match("IVAN PETROV"));
+        assertEquals("Ivan Petrov", index.match("petrov"));
+        assertEquals("Ivana Smith", index.match("smith"));
+        assertEquals("System", index.match("sys"));
+    }
+
+    @Test
+    void shortAmbiguousFilterReturnsNothing() {
+        assertNull(index.match("ivan"));
+    }
+
+    @Test
+    void typosAreResolvedWithinEditDistance() {
+        assertEquals("John Smith", index.match("jhon smith"));
+        assertEquals("Admin", index.match("admn"));
+        assertEquals("Maria Garcia", index.match("maria garsia"));
+        assertNull(index.match("nobody"));
+    }
+
+    @Test
+    void addedPerformersAreSearchableImmediately() {
+        index.add("Zed Newcomer");
+        index.add("zed newcomer");
+
+        assertEquals(7, index.size());
+        assertEquals("Zed Newcomer", index.match("newcomr"));
+    }
+
+    @Test
+    void largeDirectoryStaysSelective() {
+        List<String> staff = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) staff.add("Staff" + i + " Member");
+        staff.add("Ivan Petrov");
+        PerformerIndex large = new PerformerIndex(staff);
+
+        assertEquals("Staff4200 Member", large.match("staff42"));
+        assertEquals("Ivan Petrov", large.match("ivan petrof"));
+    }
+
+    @Test
+    void boundedLevenshteinStopsEarly() {
+        assertEquals(3, PerformerIndex.boundedLevenshtein("kitten", "sitting", 5));
+        assertEquals(2, PerformerIndex.boundedLevenshtein("kitten", "sitting", 1));
+    }
+}
@@ -0,0 +1,145 @@
+package com.inventory.saas.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.saas.ai.context.TransactionContextBuilder;
+import com.inventory.saas.ai.extraction.ItemCatalog;
+import com.inventory.saas.ai.extraction.ItemCatalogService;
+import com.inventory.saas.ai.intent.IntentClassifier;
+import com.inventory.saas.ai.model.Intent;
+import com.inventory.saas.config.CacheConfig;
+import com.inventory.saas.model.InventoryItem;
+import com.inventory.saas.service.InventoryAgentTools;
+import com.inventory.saas.service.TenantDataVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AiChatServiceTest {
+
+    private static final String TENANT = "tenant-1";
+    private static final UUID WIDGET_A = UUID.randomUUID();
+    private static final UUID WIDGET_B = UUID.randomUUID();
+
+    private InventoryAgentTools tools;
+    private TransactionContextBuilder transactionContextBuilder;
+    private TenantDataVersionService dataVersionService;
+    private Cache responseCache;
+    private AiChatService service;
+
+    @BeforeEach
+    void setup() {
+        tools = mock(InventoryAgentTools.class);
+        transactionContextBuilder = mock(TransactionContextBuilder.class);
+        dataVersionService = new TenantDataVersionService();
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CHAT_RESPONSES_CACHE);
+        responseCache = cacheManager.getCache(CacheConfig.CHAT_RESPONSES_CACHE);
+
+        ItemCatalogService itemCatalogService = mock(ItemCatalogService.class);
+        when(itemCatalogService.catalogFor(TENANT)).thenReturn(ItemCatalog.of(List.of(
+                item(WIDGET_A, "Widget", "WD-1"),
+                item(WIDGET_B, "Widget", "WD-2"))));
+
+        when(tools.stockSummary(TENANT)).thenReturn(new InventoryAgentTools.StockSummary(
+                List.of(new InventoryAgentTools.StockItem("1", "Widget", "WD-1", 3, 5)), 1));
+        when(transactionContextBuilder.filterRecentTransactionsByPerformedBy(eq(TENANT), anyString(), anyInt()))
+                .thenAnswer(inv -> filtered("By " + inv.getArgument(1)));
+        when(transactionContextBuilder.recentTransactionsForItem(eq(TENANT), any(UUID.class), anyString(), anyInt()))
+                .thenAnswer(inv -> filtered("Item " + inv.getArgument(1)));
+
+        service = new AiChatService(tools, transactionContextBuilder, new ObjectMapper(), dataVersionService,
+                cacheManager, itemCatalogService, IntentClassifier.DEFAULT_PHRASE_TABLE);
+    }
+
+    @Test
+    void repeatedQuestionIsServedFromTheCache() {
+        String first = service.chat(TENANT, "what's in stock");
+        String second = service.chat(TENANT, "what's in stock");
+
+        assertEquals(first, second);
+        verify(tools, times(1)).stockSummary(TENANT);
+    }
+
+    @Test
+    void dataVersionBumpMissesTheCache() {
+        service.chat(TENANT, "what's in stock");
+        dataVersionService.bump(TENANT);
+        service.chat(TENANT, "what's in stock");
+
+        verify(tools, times(2)).stockSummary(TENANT);
+    }
+
+    @Test
+    void filteredTransactionEntitiesSeparateTheCacheKeys() {
+        List<Intent> intents = new ArrayList<>();
+
+        service.chat(TENANT, "transactions by Ivan", (intent, entities) -> intents.add(intent));
+        service.chat(TENANT, "transactions by Olga", (intent, entities) -> intents.add(intent));
+        service.chat(TENANT, "transactions by Ivan page 2", (intent, entities) -> intents.add(intent));
+        service.chat(TENANT, "transactions by Ivan", (intent, entities) -> intents.add(intent));
+
+        assertTrue(intents.stream().allMatch(i -> i == Intent.FILTERED_TRANSACTIONS));
+        verify(transactionContextBuilder, times(1)).filterRecentTransactionsByPerformedBy(TENANT, "Ivan", 0);
+        verify(transactionContextBuilder, times(1)).filterRecentTransactionsByPerformedBy(TENANT, "Olga", 0);
+        verify(transactionContextBuilder, times(1)).filterRecentTransactionsByPerformedBy(TENANT, "Ivan", 1);
+
+        String first = service.chat(TENANT, "history for wd-1");
+        String second = service.chat(TENANT, "history for wd-2");
+
+        assertNotEquals(first, second);
+        verify(transactionContextBuilder, times(1)).recentTransactionsForItem(TENANT, WIDGET_A, "Widget", 0);
+        verify(transactionContextBuilder, times(1)).recentTransactionsForItem(TENANT, WIDGET_B, "Widget", 0);
+    }
+
+    @Test
+    void mockForecastFallbackIsNeverCached() {
+        when(tools.itemForecasts(TENANT)).thenReturn(List.of());
+
+        service.chat(TENANT, "When will the blue widgets run out of stock?");
+        service.chat(TENANT, "When will the blue widgets run out of stock?");
+
+        verify(tools, times(2)).itemForecasts(TENANT);
+        assertCacheEmpty();
+    }
+
+    @Test
+    void failedFilterIsNeverCached() {
+        when(transactionContextBuilder.filterRecentTransactionsByPerformedBy(eq(TENANT), anyString(), anyInt()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        String first = service.chat(TENANT, "transactions by Ivan");
+        service.chat(TENANT, "transactions by Ivan");
+
+        assertTrue(first.contains("Failed to filter transactions."));
+        verify(transactionContextBuilder, times(2)).filterRecentTransactionsByPerformedBy(TENANT, "Ivan", 0);
+        assertCacheEmpty();
+    }
+
+    private void assertCacheEmpty() {
+        assertTrue(((Map<?, ?>) responseCache.getNativeCache()).isEmpty());
+    }
+
+    private static TransactionContextBuilder.FilteredTransactions filtered(String summary) {
+        return new TransactionContextBuilder.FilteredTransactions("ok", summary, List.of(), 0, 0, false);
+    }
+
+    private static InventoryItem item(UUID id, String name, String sku) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setName(name);
+        item.setSku(sku);
+        return item;
+    }
+}
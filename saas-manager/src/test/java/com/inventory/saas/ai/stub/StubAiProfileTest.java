@@ -0,0 +1,106 @@
+package com.inventory.saas.ai.stub;
+
+import com.inventory.saas.config.TenantContext;
+import com.inventory.saas.model.InventoryItem;
+import com.inventory.saas.repository.InventoryRepository;
+import com.inventory.saas.service.BillingGuard;
+import com.inventory.saas.service.RateLimitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stub-ai;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:9999",
+        "spring.data.redis.host=localhost",
+        "spring.data.redis.port=6379",
+        "spring.data.redis.password=",
+        "CLERK_SECRET_KEY=dummy-clerk-secret-key-for-test",
+        "cache.two-tier.l2=memory",
+        "ai.stub.latency.median-ms=0",
+        "ai.stub.stream.chunk-delay-ms=0"
+})
+@ActiveProfiles("stub-ai")
+public class StubAiProfileTest {
+
+    private static final String TENANT = "tenant-stub";
+
+    @Autowired
+    private ChatModel chatModel;
+
+    @Autowired
+    private ChatClient chatClient;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Autowired
+    private BillingGuard billingGuard;
+
+    @BeforeEach
+    void setup() {
+        when(rateLimitService.isAllowed(anyString(), anyInt())).thenReturn(true);
+        when(billingGuard.getLimits(anyString())).thenReturn(new BillingGuard.PlanLimits(1000, 10000, 50, 500000));
+        when(billingGuard.getUsageStats(anyString(), anyString())).thenReturn(new BillingGuard.UsageStats(0, 5, 0, 1, 0, 15000));
+        inventoryRepository.deleteAll();
+
+        TenantContext.setTenantId(TENANT);
+        InventoryItem item = new InventoryItem();
+        item.setName("Stub Widget");
+        item.setSku("STUB-" + UUID.randomUUID());
+        item.setQuantity(3);
+        item.setMinThreshold(10);
+        item.setPrice(new BigDecimal("9.99"));
+        inventoryRepository.save(item);
+        TenantContext.clear();
+    }
+
+    @Test
+    void stubModelIsThePrimaryChatModel() {
+        assertInstanceOf(StubChatModel.class, chatModel);
+    }
+
+    @Test
+    void agentToolCallIsExecutedByTheFramework() {
+        String reply = TenantContext.callWithTenant(TENANT, () -> chatClient.prompt()
+                .user("what is in stock right now?")
+                .call()
+                .content());
+
+        assertTrue(reply.startsWith("Based on getCurrentStockSummary: "), reply);
+        assertTrue(reply.contains("Stub Widget"), reply);
+    }
+
+    @Test
+    void streamedAgentToolCallIsExecutedByTheFramework() {
+        String reply = TenantContext.callWithTenant(TENANT, () -> String.join("", chatClient.prompt()
+                .user("show me recent transactions")
+                .stream()
+                .content()
+                .collectList()
+                .block(Duration.ofSeconds(10))));
+
+        assertTrue(reply.startsWith("Based on getRecentTransactions: "), reply);
+    }
+}
@@ -0,0 +1,51 @@
+package com.inventory.saas.cache;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.inventory.saas.dto.InventorySummaryAnalysisDTO;
+import com.inventory.saas.service.AiForecastService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedisL2CacheStoreTest {
+
+    private final GenericJackson2JsonRedisSerializer serializer =
+            RedisL2CacheStore.valueSerializer(JsonMapper.builder().findAndAddModules().build());
+
+    @Test
+    void analysisSnapshotRoundTrips() {
+        InventorySummaryAnalysisDTO analysis = new InventorySummaryAnalysisDTO("Warning", "Two items low",
+                List.of("Restock bolts"), 72, List.of(Map.of("name", "Bolt", "quantity", 3)),
+                List.of(Map.of("item", "Bolt", "status", "Critical")), Instant.parse("2026-01-05T10:15:30Z"), false);
+
+        Object value = serializer.deserialize(serializer.serialize(new AiForecastService.AnalysisSnapshot(analysis, 7L)));
+
+        AiForecastService.AnalysisSnapshot snapshot = assertInstanceOf(AiForecastService.AnalysisSnapshot.class, value);
+        assertEquals(7L, snapshot.version());
+        assertEquals("Two items low", snapshot.analysis().getSummary());
+        assertEquals(List.of("Restock bolts"), snapshot.analysis().getUrgentActions());
+        assertEquals(3, snapshot.analysis().getData().get(0).get("quantity"));
+        assertEquals(Instant.parse("2026-01-05T10:15:30Z"), snapshot.analysis().getGeneratedAt());
+    }
+
+    @Test
+    void plainValuesRoundTrip() {
+        assertEquals("cached reply", serializer.deserialize(serializer.serialize("cached reply")));
+        assertEquals(42L, serializer.deserialize(serializer.serialize(42L)));
+    }
+
+    @Test
+    void typesOutsideTheAllowListAreRejected() {
+        byte[] payload = "{\"@class\":\"java.net.URL\",\"protocol\":\"http\",\"host\":\"example.com\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(payload));
+    }
+}
@@ -0,0 +1,101 @@
+package com.inventory.saas.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TwoTierCacheTest {
+
+    private InMemoryL2CacheStore l2;
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        l2 = new InMemoryL2CacheStore();
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    void valueWrittenOnOneNodeIsServedFromL2OnAnother() {
+        nodeA.getCache("ai-analysis").put("tenant-1:3", "analysis");
+
+        Cache.ValueWrapper value = nodeB.getCache("ai-analysis").get("tenant-1:3");
+
+        assertNotNull(value);
+        assertEquals("analysis", value.get());
+        assertEquals(1, nodeB.getStats().get("ai-analysis").l2Hits());
+
+        nodeB.getCache("ai-analysis").get("tenant-1:3");
+        assertEquals(1, nodeB.getStats().get("ai-analysis").l1Hits());
+    }
+
+    @Test
+    void loaderRunsOnceAcrossNodes() {
+        int[] calls = {0};
+
+        String first = nodeA.getCache("ai-analysis").get("tenant-1:3", () -> "computed-" + ++calls[0]);
+        String second = nodeB.getCache("ai-analysis").get("tenant-1:3", () -> "computed-" + ++calls[0]);
+
+        assertEquals("computed-1", first);
+        assertEquals("computed-1", second);
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void evictionOnOneNodeInvalidatesOtherNodesL1() {
+        nodeA.getCache("ai-analysis").put("tenant-1:3", "old");
+        nodeB.getCache("ai-analysis").get("tenant-1:3");
+
+        nodeA.getCache("ai-analysis").evict("tenant-1:3");
+
+        assertNull(nodeB.getCache("ai-analysis").get("tenant-1:3"));
+        assertEquals(2, nodeB.getStats().get("ai-analysis").remoteInvalidations());
+        assertEquals(0, nodeA.getStats().get("ai-analysis").remoteInvalidations());
+    }
+
+    @Test
+    void putOnOneNodeReplacesStaleL1OnOtherNodes() {
+        nodeA.getCache("ai-analysis").put("tenant-1:3", "old");
+        assertEquals("old", nodeB.getCache("ai-analysis").get("tenant-1:3").get());
+
+        nodeA.getCache("ai-analysis").put("tenant-1:3", "new");
+
+        assertEquals("new", nodeB.getCache("ai-analysis").get("tenant-1:3").get());
+        assertEquals(2, nodeB.getStats().get("ai-analysis").remoteInvalidations());
+    }
+
+    @Test
+    void clearOnOneNodeClearsEveryNode() {
+        nodeA.getCache("ai-analysis").put("tenant-1:3", "a");
+        nodeA.getCache("ai-analysis").put("tenant-2:1", "b");
+        nodeB.getCache("ai-analysis").get("tenant-1:3");
+
+        nodeA.getCache("ai-analysis").clear();
+
+        assertNull(nodeB.getCache("ai-analysis").get("tenant-1:3"));
+        assertNull(nodeB.getCache("ai-analysis").get("tenant-2:1"));
+    }
+
+    @Test
+    void cachesNotConfiguredAsTwoTierStayNodeLocal() {
+        nodeA.getCache("forecasts").put("tenant-1:3", "local");
+
+        assertNull(nodeB.getCache("forecasts").get("tenant-1:3"));
+        assertFalse(nodeA.getStats().containsKey("forecasts"));
+    }
+
+    private TwoTierCacheManager newNode() {
+        CaffeineCacheManager local = new CaffeineCacheManager("ai-analysis", "forecasts");
+        return new TwoTierCacheManager(local, List.of("ai-analysis"),
+                Caffeine.newBuilder().maximumSize(100), l2, Duration.ofMinutes(5));
+    }
+}
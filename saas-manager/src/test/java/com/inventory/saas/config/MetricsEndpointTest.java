@@ -0,0 +1,69 @@
+package com.inventory.saas.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:9999",
+        "spring.data.redis.host=localhost",
+        "spring.data.redis.port=6379",
+        "spring.data.redis.password=",
+        "CLERK_SECRET_KEY=dummy-clerk-secret-key-for-test",
+        "cache.two-tier.l2=memory"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("stub-ai")
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void prometheusScrapeRequiresAnAdminToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_MEMBER"))))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void planTagComesFromTheJwtClaimNotTheHeader() throws Exception {
+        mockMvc.perform(get("/actuator/health")
+                .header("X-Organization-Plan", "pro")
+                .with(jwt().jwt(token -> token.claim("org_plan", "free"))));
+        mockMvc.perform(get("/actuator/health")
+                .header("X-Organization-Plan", "pro"));
+
+        assertNotNull(meterRegistry.find("http.server.requests").tag("uri", "/actuator/health").tag("plan", "free").timer());
+        assertNotNull(meterRegistry.find("http.server.requests").tag("uri", "/actuator/health").tag("plan", "none").timer());
+        assertNull(meterRegistry.find("http.server.requests").tag("uri", "/actuator/health").tag("plan", "pro").timer());
+    }
+}
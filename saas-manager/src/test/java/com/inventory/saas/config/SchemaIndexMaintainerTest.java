@@ -0,0 +1,52 @@
+package com.inventory.saas.config;
+
+import com.inventory.saas.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class SchemaIndexMaintainerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void postgresStatementsRunEvenWhenOneFails() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        doThrow(new DataAccessResourceFailureException("lock timeout"))
+                .when(jdbcTemplate).execute(SchemaIndexMaintainer.POSTGRES_STATEMENTS.get(0));
+
+        new SchemaIndexMaintainer(jdbcTemplate).run(null);
+
+        verify(jdbcTemplate, times(SchemaIndexMaintainer.POSTGRES_STATEMENTS.size())).execute(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void otherDatabasesAreLeftAlone() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        new SchemaIndexMaintainer(jdbcTemplate).run(null);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void lowStockQueryRepeatsThePartialIndexPredicate() throws Exception {
+        String query = InventoryRepository.class.getMethod("findLowStockByTenantId", String.class)
+                .getAnnotation(Query.class).value();
+        String index = SchemaIndexMaintainer.POSTGRES_STATEMENTS.stream()
+                .filter(s -> s.contains("idx_inventory_low_stock ON"))
+                .findFirst().orElseThrow();
+
+        String predicate = index.substring(index.indexOf("WHERE ") + "WHERE ".length());
+        assertTrue(query.contains(predicate), "Partial index predicate must appear verbatim in the low-stock query");
+    }
+}
@@ -0,0 +1,75 @@
+package com.inventory.saas.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantContextTest {
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+    private final TenantContextTaskDecorator decorator = new TenantContextTaskDecorator();
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void decoratedTaskRunsUnderSubmittingTenant() throws Exception {
+        TenantContext.setTenantId("tenant-a");
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        pool.submit(decorator.decorate(() -> seen.set(TenantContext.getTenantId()))).get(5, TimeUnit.SECONDS);
+
+        assertEquals("tenant-a", seen.get());
+    }
+
+    @Test
+    void pooledThreadDoesNotLeakTenantToNextTask() throws Exception {
+        TenantContext.setTenantId("tenant-a");
+        pool.submit(decorator.decorate(() -> {})).get(5, TimeUnit.SECONDS);
+
+        TenantContext.clear();
+        AtomicReference<String> seen = new AtomicReference<>("unset");
+        pool.submit(decorator.decorate(() -> seen.set(TenantContext.getTenantId()))).get(5, TimeUnit.SECONDS);
+
+        assertNull(seen.get());
+        assertNull(pool.submit(TenantContext::getTenantId).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void wrappedSupplierCarriesTenantIntoCompletableFuture() {
+        TenantContext.setTenantId("tenant-b");
+
+        String seen = CompletableFuture.supplyAsync(TenantContext.wrapSupplier(TenantContext::getTenantId), pool).join();
+
+        assertEquals("tenant-b", seen);
+    }
+
+    @Test
+    void nestedScopeRestoresOuterTenant() {
+        TenantContext.setTenantId("outer");
+
+        String inner = TenantContext.callWithTenant("inner", TenantContext::getTenantId);
+
+        assertEquals("inner", inner);
+        assertEquals("outer", TenantContext.getTenantId());
+    }
+
+    @Test
+    void nullScopeUnbindsAndRestores() {
+        TenantContext.setTenantId("outer");
+
+        TenantContext.runWithTenant(null, () -> assertNull(TenantContext.getTenantId()));
+
+        assertEquals("outer", TenantContext.getTenantId());
+    }
+}
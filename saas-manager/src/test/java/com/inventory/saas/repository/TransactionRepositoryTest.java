@@ -0,0 +1,109 @@
+package com.inventory.saas.repository;
+
+import com.inventory.saas.config.TenantContext;
+import com.inventory.saas.config.TenantIdentifierResolver;
+import com.inventory.saas.model.InventoryItem;
+import com.inventory.saas.model.StockTransaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(TenantIdentifierResolver.class)
+public class TransactionRepositoryTest {
+
+    private static final String TENANT = "tenant-repo";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    private final LocalDateTime since = LocalDateTime.now().minusDays(30);
+
+    @BeforeAll
+    static void bindTenant() {
+        TenantContext.setTenantId(TENANT);
+    }
+
+    @AfterAll
+    static void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @BeforeEach
+    void setup() {
+        InventoryItem plain = item("Widget 100");
+        InventoryItem percent = item("Widget 100% cotton");
+        for (int i = 0; i < 5; i++) {
+            transaction(plain, "alice", i);
+        }
+        transaction(percent, "bob_smith", 10);
+        transaction(percent, "bobXsmith", 11);
+        entityManager.flush();
+    }
+
+    @Test
+    void limitAndOffsetPageNewestFirst() {
+        List<Map<String, Object>> first = repository.findTransactionsRawByPerformer(TENANT, "alice", since, 3, 0);
+        List<Map<String, Object>> second = repository.findTransactionsRawByPerformer(TENANT, "alice", since, 3, 3);
+
+        assertEquals(3, first.size());
+        assertEquals(2, second.size());
+        assertEquals("0", first.get(0).get("reason"));
+        assertEquals("3", second.get(0).get("reason"));
+    }
+
+    @Test
+    void performerLookupIgnoresCase() {
+        assertEquals(5, repository.findTransactionsRawByPerformer(TENANT, "ALICE", since, 10, 0).size());
+        assertEquals(5, repository.findTransactionsRawByPerformer(TENANT, "Alice", since, 10, 0).size());
+    }
+
+    @Test
+    void likeWildcardsInTheFilterAreMatchedLiterally() {
+        assertEquals(2, repository.findTransactionsRawByItemName(TENANT, "100\\%", since, 10, 0).size());
+        assertEquals(7, repository.findTransactionsRawByItemName(TENANT, "widget", since, 10, 0).size());
+
+        List<Map<String, Object>> underscore = repository.findTransactionsRawByPerformerLike(TENANT, "bob\\_", since, 10, 0);
+        assertEquals(1, underscore.size());
+        assertEquals("bob_smith", underscore.get(0).get("performedBy"));
+    }
+
+    @Test
+    void rowsOutsideTheWindowOrTenantAreExcluded() {
+        assertTrue(repository.findTransactionsRawByPerformer(TENANT, "alice", LocalDateTime.now().plusDays(1), 10, 0).isEmpty());
+        assertTrue(repository.findTransactionsRawByPerformer("other-tenant", "alice", since, 10, 0).isEmpty());
+    }
+
+    private InventoryItem item(String name) {
+        InventoryItem item = new InventoryItem();
+        item.setName(name);
+        item.setSku(name.replaceAll("\\W", ""));
+        item.setQuantity(10);
+        return entityManager.persist(item);
+    }
+
+    private void transaction(InventoryItem item, String performer, int minutesAgo) {
+        StockTransaction transaction = new StockTransaction();
+        transaction.setInventoryItem(item);
+        transaction.setQuantityChange(1);
+        transaction.setType("IN");
+        transaction.setReason(String.valueOf(minutesAgo));
+        transaction.setPerformedBy(performer);
+        transaction.setCreatedAt(LocalDateTime.now().minusMinutes(minutesAgo));
+        entityManager.persist(transaction);
+    }
+}
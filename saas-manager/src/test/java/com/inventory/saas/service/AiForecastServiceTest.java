@@ -0,0 +1,133 @@
+package com.inventory.saas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.saas.ai.context.AnalysisFeedCompactor;
+import com.inventory.saas.ai.llm.LlmExecutor;
+import com.inventory.saas.ai.llm.LlmUnavailableException;
+import com.inventory.saas.ai.service.AiAnalysisService;
+import com.inventory.saas.ai.service.AiChatService;
+import com.inventory.saas.config.CacheConfig;
+import com.inventory.saas.dto.InventorySummaryAnalysisDTO;
+import com.inventory.saas.repository.InventoryRepository;
+import com.inventory.saas.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AiForecastServiceTest {
+
+    private static final String TENANT = "tenant-1";
+
+    private AiAnalysisService aiAnalysisService;
+    private AiForecastService service;
+    private Cache analysisCache;
+
+    @BeforeEach
+    void setup() {
+        aiAnalysisService = mock(AiAnalysisService.class);
+        when(aiAnalysisService.failedResponse()).thenReturn(analysis("Unavailable"));
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.AI_ANALYSIS_CACHE);
+        analysisCache = cacheManager.getCache(CacheConfig.AI_ANALYSIS_CACHE);
+        service = new AiForecastService(aiAnalysisService, mock(AiChatService.class), new TenantDataVersionService(),
+                cacheManager, mock(TaskScheduler.class),
+                mock(ThreadPoolTaskExecutor.class), new RedisLeaseService());
+        ReflectionTestUtils.setField(service, "coalesceTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 90L);
+        ReflectionTestUtils.setField(service, "leasePollMillis", 10L);
+    }
+
+    @Test
+    void blockingCallersJoinAnInFlightStreamedAnalysis() throws Exception {
+        AiForecastService.AnalysisLead lead = service.tryLeadAnalysis(TENANT, 0);
+        assertNotNull(lead);
+        assertNull(service.tryLeadAnalysis(TENANT, 0));
+
+        CompletableFuture<AiForecastService.AnalysisSnapshot> waiter =
+                CompletableFuture.supplyAsync(() -> service.generateAnalysis(TENANT, "free", 0));
+        Thread.sleep(100);
+        assertFalse(waiter.isDone());
+
+        InventorySummaryAnalysisDTO streamed = lead.complete(analysis("Healthy"));
+
+        assertSame(streamed, waiter.get(5, TimeUnit.SECONDS).analysis());
+        assertSame(streamed, service.cachedAnalysis(TENANT));
+        verify(aiAnalysisService, never()).getGlobalAnalysis(anyString(), anyString());
+    }
+
+    @Test
+    void failedStreamHandsWaitersTheFallbackAndFreesTheSlot() throws Exception {
+        AiForecastService.AnalysisLead lead = service.tryLeadAnalysis(TENANT, 0);
+        CompletableFuture<AiForecastService.AnalysisSnapshot> waiter =
+                CompletableFuture.supplyAsync(() -> service.generateAnalysis(TENANT, "free", 0));
+        Thread.sleep(100);
+
+        assertEquals("Unavailable", lead.fail().getStatus());
+        assertEquals("Unavailable", waiter.get(5, TimeUnit.SECONDS).analysis().getStatus());
+        assertEquals("Unavailable", lead.fail().getStatus());
+
+        assertNotNull(service.tryLeadAnalysis(TENANT, 0));
+    }
+
+    @Test
+    void freshCachedAnalysisIsNotStreamedAgain() {
+        service.storeAnalysis(TENANT, 3, analysis("Healthy"));
+
+        assertNull(service.tryLeadAnalysis(TENANT, 3));
+        assertNotNull(service.tryLeadAnalysis(TENANT, 4));
+    }
+
+    @Test
+    void placeholderOrMalformedStreamedAnalysisLeavesTheCacheUntouched() {
+        AiAnalysisService parser = new AiAnalysisService(mock(ChatClient.class), mock(TransactionRepository.class),
+                mock(InventoryRepository.class), mock(BillingGuard.class), new ObjectMapper(),
+                mock(AnalysisFeedCompactor.class), mock(LlmExecutor.class), new MetricsService(new SimpleMeterRegistry(), 10));
+        InventorySummaryAnalysisDTO healthy = service.storeAnalysis(TENANT, 3, analysis("Healthy"));
+
+        for (String content : List.of("{\"status\": \"REPLACE_WITH_STATUS\"}", "{\"health\": \"ok\"}")) {
+            AiForecastService.AnalysisLead lead = service.tryLeadAnalysis(TENANT, 4);
+            InventorySummaryAnalysisDTO served;
+            try {
+                served = lead.complete(parser.parseAnalysis(TENANT, content));
+            } catch (Exception e) {
+                assertInstanceOf(LlmUnavailableException.class, e);
+                served = lead.fail();
+            }
+
+            assertTrue(served.isStale());
+            AiForecastService.AnalysisSnapshot cached = analysisCache.get(TENANT, AiForecastService.AnalysisSnapshot.class);
+            assertSame(healthy, cached.analysis());
+            assertEquals(3, cached.version());
+        }
+    }
+
+    @Test
+    void failedBlockingAnalysisIsServedButNotCached() {
+        when(aiAnalysisService.getGlobalAnalysis(TENANT, "free")).thenThrow(
+                new LlmUnavailableException(LlmUnavailableException.Reason.FAILED, "AI returned a placeholder analysis", null));
+
+        AiForecastService.AnalysisSnapshot snapshot = service.generateAnalysis(TENANT, "free", 0);
+
+        assertEquals("Unavailable", snapshot.analysis().getStatus());
+        assertEquals(-1, snapshot.version());
+        assertNull(analysisCache.get(TENANT));
+    }
+
+    private static InventorySummaryAnalysisDTO analysis(String status) {
+        return new InventorySummaryAnalysisDTO(status, "summary", List.of(), 100, List.of(), List.of(), Instant.now(), false);
+    }
+}
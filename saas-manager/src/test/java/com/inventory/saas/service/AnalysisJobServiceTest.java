@@ -0,0 +1,138 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.dto.InventorySummaryAnalysisDTO;
+import com.inventory.saas.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AnalysisJobServiceTest {
+
+    private static final String TENANT = "tenant-1";
+
+    private AiForecastService aiForecastService;
+    private TenantDataVersionService dataVersionService;
+    private final List<Runnable> queued = new ArrayList<>();
+    private boolean rejectTasks;
+    private AnalysisJobService service;
+
+    @BeforeEach
+    void setup() {
+        aiForecastService = mock(AiForecastService.class);
+        dataVersionService = new TenantDataVersionService();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                if (rejectTasks) throw new TaskRejectedException("queue full");
+                queued.add(task);
+            }
+        };
+        service = new AnalysisJobService(aiForecastService, dataVersionService, mock(BillingGuard.class), executor);
+        dataVersionService.bump(TENANT);
+    }
+
+    @Test
+    void jobMovesFromQueuedToCompleted() {
+        InventorySummaryAnalysisDTO analysis = analysis(false);
+        when(aiForecastService.generateAnalysis(TENANT, "free", 1)).thenReturn(new AiForecastService.AnalysisSnapshot(analysis, 1));
+
+        AnalysisJobService.AnalysisJob job = service.enqueue(TENANT, "free");
+        assertEquals(AnalysisJobService.Status.QUEUED, job.status());
+
+        runQueued();
+
+        AnalysisJobService.AnalysisJob done = service.getJob(TENANT, job.id());
+        assertEquals(AnalysisJobService.Status.COMPLETED, done.status());
+        assertSame(analysis, done.result());
+        assertNotNull(done.finishedAt());
+        assertThrows(ResourceNotFoundException.class, () -> service.getJob("tenant-2", job.id()));
+    }
+
+    @Test
+    void concurrentRequestsForTheSameVersionShareOneJob() {
+        AnalysisJobService.AnalysisJob first = service.enqueue(TENANT, "free");
+        AnalysisJobService.AnalysisJob second = service.enqueue(TENANT, "free");
+
+        assertEquals(first.id(), second.id());
+        assertEquals(1, queued.size());
+
+        dataVersionService.bump(TENANT);
+        AnalysisJobService.AnalysisJob third = service.enqueue(TENANT, "free");
+        assertNotEquals(first.id(), third.id());
+    }
+
+    @Test
+    void snapshotOlderThanTheJobFailsTheJob() {
+        when(aiForecastService.generateAnalysis(TENANT, "free", 1))
+                .thenReturn(new AiForecastService.AnalysisSnapshot(analysis(false), 0));
+
+        AnalysisJobService.AnalysisJob job = service.enqueue(TENANT, "free");
+        runQueued();
+
+        assertEquals(AnalysisJobService.Status.FAILED, service.getJob(TENANT, job.id()).status());
+    }
+
+    @Test
+    void staleSnapshotFailsTheJob() {
+        when(aiForecastService.generateAnalysis(TENANT, "free", 1))
+                .thenReturn(new AiForecastService.AnalysisSnapshot(analysis(true), 1));
+
+        AnalysisJobService.AnalysisJob job = service.enqueue(TENANT, "free");
+        runQueued();
+
+        AnalysisJobService.AnalysisJob failed = service.getJob(TENANT, job.id());
+        assertEquals(AnalysisJobService.Status.FAILED, failed.status());
+        assertNull(failed.result());
+    }
+
+    @Test
+    void failedJobIsNotReusedForTheSameVersion() {
+        when(aiForecastService.generateAnalysis(eq(TENANT), eq("free"), anyLong()))
+                .thenReturn(new AiForecastService.AnalysisSnapshot(null, -1))
+                .thenReturn(new AiForecastService.AnalysisSnapshot(analysis(false), 1));
+
+        AnalysisJobService.AnalysisJob failed = service.enqueue(TENANT, "free");
+        runQueued();
+        assertEquals(AnalysisJobService.Status.FAILED, service.getJob(TENANT, failed.id()).status());
+
+        AnalysisJobService.AnalysisJob retry = service.enqueue(TENANT, "free");
+        assertNotEquals(failed.id(), retry.id());
+        runQueued();
+        assertEquals(AnalysisJobService.Status.COMPLETED, service.getJob(TENANT, retry.id()).status());
+        assertEquals(retry.id(), service.enqueue(TENANT, "free").id());
+    }
+
+    @Test
+    void rejectedJobIsNotKept() {
+        rejectTasks = true;
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.enqueue(TENANT, "free"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        rejectTasks = false;
+        service.enqueue(TENANT, "free");
+        assertEquals(1, queued.size());
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static InventorySummaryAnalysisDTO analysis(boolean stale) {
+        return new InventorySummaryAnalysisDTO("Healthy", "All good", List.of(), 100, List.of(), List.of(), Instant.now(), stale);
+    }
+}
@@ -0,0 +1,50 @@
+package com.inventory.saas.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private MetricsService metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MetricsService(registry, 2);
+    }
+
+    @Test
+    void tenantTagsAreBoundedAndStable() {
+        assertEquals("tenant-a", metrics.tenantTag("tenant-a"));
+        assertEquals("tenant-b", metrics.tenantTag("tenant-b"));
+        assertEquals(MetricsService.OTHER_TENANTS, metrics.tenantTag("tenant-c"));
+        assertEquals("tenant-a", metrics.tenantTag("tenant-a"));
+        assertEquals(MetricsService.NO_TENANT, metrics.tenantTag(null));
+    }
+
+    @Test
+    void tokensBeyondTheTenantLimitAreAggregatedUnderOther() {
+        metrics.recordTokens("tenant-a", 100, 20);
+        metrics.recordTokens("tenant-b", 50, 10);
+        metrics.recordTokens("tenant-c", 30, 5);
+        metrics.recordTokens("tenant-d", 70, 15);
+
+        assertEquals(100, registry.get("llm.tokens").tag("tenant", "tenant-a").tag("type", "prompt").counter().count());
+        assertEquals(100, registry.get("llm.tokens").tag("tenant", "other").tag("type", "prompt").counter().count());
+        assertEquals(20, registry.get("llm.tokens").tag("tenant", "other").tag("type", "generation").counter().count());
+        assertEquals(3, registry.get("llm.tokens").tag("type", "prompt").counters().size());
+    }
+
+    @Test
+    void billingChecksAreTaggedByPlanTier() {
+        metrics.recordBillingCheck("tokens", "Pro_Monthly", true);
+        metrics.recordBillingCheck("tokens", null, false);
+
+        assertEquals(1, registry.get("billing.guard.checks").tags("plan", "pro", "outcome", "allowed").counter().count());
+        assertEquals(1, registry.get("billing.guard.checks").tags("plan", "free", "outcome", "blocked").counter().count());
+    }
+}
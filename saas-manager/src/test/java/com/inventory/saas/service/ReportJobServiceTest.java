@@ -0,0 +1,95 @@
+package com.inventory.saas.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ReportJobServiceTest {
+
+    private static final String TENANT = "tenant-1";
+
+    @TempDir
+    Path reportDir;
+
+    private ReportService reportService;
+    private BillingGuard billingGuard;
+    private final List<Runnable> queued = new ArrayList<>();
+    private boolean rejectTasks;
+    private ReportJobService service;
+
+    @BeforeEach
+    void setup() throws Exception {
+        reportService = mock(ReportService.class);
+        billingGuard = mock(BillingGuard.class);
+        ReportFileStore fileStore = new ReportFileStore();
+        ReflectionTestUtils.setField(fileStore, "directory", reportDir.toString());
+        fileStore.init();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                if (rejectTasks) throw new TaskRejectedException("queue full");
+                queued.add(task);
+            }
+        };
+        service = new ReportJobService(reportService, fileStore, billingGuard, executor);
+        ReflectionTestUtils.setField(service, "perTenantLimit", 2);
+    }
+
+    @Test
+    void rejectedJobDoesNotConsumeTheReportQuota() {
+        rejectTasks = true;
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.enqueue(TENANT, "Acme", "free"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        verify(billingGuard).checkReportLimit(TENANT, "free");
+        verify(billingGuard, never()).recordReportUsage(anyString());
+    }
+
+    @Test
+    void acceptedJobConsumesTheQuotaAndStoresTheRenderedReport() throws Exception {
+        doAnswer(inv -> {
+            inv.getArgument(2, OutputStream.class).write("%PDF-report".getBytes());
+            return null;
+        }).when(reportService).renderWeeklyReport(eq(TENANT), eq("Acme"), any(OutputStream.class));
+
+        ReportJobService.ReportJob job = service.enqueue(TENANT, "Acme", "free");
+        verify(billingGuard).recordReportUsage(TENANT);
+
+        queued.forEach(Runnable::run);
+
+        ReportJobService.ReportJob done = service.getJob(TENANT, job.id());
+        assertEquals(ReportJobService.Status.COMPLETED, done.status());
+        assertEquals("%PDF-report", Files.readString(service.getResult(done)));
+    }
+
+    @Test
+    void cachedReportIsServedWithoutTouchingTheQuota() throws Exception {
+        when(reportService.cachedWeeklyReport(TENANT, "Acme")).thenReturn("%PDF-cached".getBytes());
+
+        ReportJobService.ReportJob job = service.enqueue(TENANT, "Acme", "free");
+        queued.forEach(Runnable::run);
+
+        verifyNoInteractions(billingGuard);
+        verify(reportService, never()).renderWeeklyReport(anyString(), anyString(), any(OutputStream.class));
+        assertEquals("%PDF-cached", Files.readString(service.getResult(service.getJob(TENANT, job.id()))));
+    }
+}
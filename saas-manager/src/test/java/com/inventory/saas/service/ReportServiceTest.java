@@ -0,0 +1,120 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.config.CacheConfig;
+import com.inventory.saas.dto.InventoryValuationDTO;
+import com.inventory.saas.repository.InventoryRepository;
+import com.inventory.saas.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ReportServiceTest {
+
+    private static final String TENANT = "tenant-1";
+
+    private InventoryRepository inventoryRepository;
+    private BillingGuard billingGuard;
+    private TenantDataVersionService dataVersionService;
+    private ReportService service;
+
+    @BeforeEach
+    void setup() {
+        inventoryRepository = mock(InventoryRepository.class);
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        billingGuard = mock(BillingGuard.class);
+        dataVersionService = new TenantDataVersionService();
+
+        InventoryValuationDTO valuation = mock(InventoryValuationDTO.class);
+        when(valuation.getTotalValuation()).thenReturn(BigDecimal.TEN);
+        when(inventoryRepository.findValuationByTenantId(TENANT)).thenReturn(valuation);
+        when(inventoryRepository.findLowStockByTenantId(TENANT)).thenReturn(List.of());
+        when(transactionRepository.findRecentWithItemByTenantId(eq(TENANT), any())).thenReturn(List.of());
+
+        service = new ReportService(inventoryRepository, transactionRepository, billingGuard, Runnable::run,
+                dataVersionService, new MetricsService(new SimpleMeterRegistry(), 10),
+                new ConcurrentMapCacheManager(CacheConfig.WEEKLY_REPORTS_CACHE));
+    }
+
+    @Test
+    void renderedReportIsCachedAndChargedOnce() {
+        ReportService.RenderedReport first = service.getWeeklyReport(TENANT, "Acme", "free");
+        ReportService.RenderedReport second = service.getWeeklyReport(TENANT, "Acme", "free");
+
+        assertTrue(new String(first.content(), 0, 5).startsWith("%PDF-"));
+        assertArrayEquals(first.content(), service.cachedWeeklyReport(TENANT, "Acme"));
+        assertSame(first.content(), second.content());
+        assertEquals(first.eTag(), second.eTag());
+        verify(billingGuard, times(1)).recordReportUsage(TENANT);
+    }
+
+    @Test
+    void failedRenderIsNeitherCachedNorCharged() {
+        when(inventoryRepository.findValuationByTenantId(TENANT)).thenThrow(new IllegalStateException("db down"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.getWeeklyReport(TENANT, "Acme", "free"));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, e.getStatusCode());
+        assertNull(service.cachedWeeklyReport(TENANT, "Acme"));
+        verify(billingGuard, never()).recordReportUsage(anyString());
+    }
+
+    @Test
+    void streamedReportIsCachedAndLaterStreamsSkipTheQuota() throws Exception {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        service.streamWeeklyReport(TENANT, "Acme", "free").writeTo(first);
+
+        assertArrayEquals(first.toByteArray(), service.cachedWeeklyReport(TENANT, "Acme"));
+        verify(billingGuard, times(1)).checkReportLimit(TENANT, "free");
+        verify(billingGuard, times(1)).recordReportUsage(TENANT);
+
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        service.streamWeeklyReport(TENANT, "Acme", "free").writeTo(second);
+
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        verify(billingGuard, times(1)).checkReportLimit(TENANT, "free");
+        verify(billingGuard, times(1)).recordReportUsage(TENANT);
+    }
+
+    @Test
+    void streamOverQuotaIsRejectedBeforeRendering() {
+        doThrow(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS)).when(billingGuard).checkReportLimit(TENANT, "free");
+
+        assertThrows(ResponseStatusException.class, () -> service.streamWeeklyReport(TENANT, "Acme", "free"));
+        verify(inventoryRepository, never()).findValuationByTenantId(anyString());
+    }
+
+    @Test
+    void failedStreamIsNeitherCachedNorCharged() {
+        when(inventoryRepository.findValuationByTenantId(TENANT)).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> service.streamWeeklyReport(TENANT, "Acme", "free").writeTo(new ByteArrayOutputStream()));
+        assertNull(service.cachedWeeklyReport(TENANT, "Acme"));
+        verify(billingGuard, never()).recordReportUsage(anyString());
+    }
+
+    @Test
+    void eTagChangesWithDataVersionTenantAndOrganisation() {
+        String eTag = service.currentReportETag(TENANT, "Acme");
+
+        assertNotEquals(eTag, service.currentReportETag("tenant-2", "Acme"));
+        assertNotEquals(eTag, service.currentReportETag(TENANT, "Other"));
+        assertEquals(eTag, service.currentReportETag(TENANT, "Acme"));
+
+        dataVersionService.bump(TENANT);
+        assertNotEquals(eTag, service.currentReportETag(TENANT, "Acme"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.ai.matching.PerformerIndexService;
+import com.inventory.saas.repository.TransactionRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class SyntheticDataGeneratorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TenantDataVersionService dataVersionService;
+    private SyntheticDataGenerator generator;
+
+    @BeforeEach
+    void setup() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:synthetic-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE inventory (id UUID PRIMARY KEY, tenant_id VARCHAR(255) NOT NULL, name VARCHAR(255), sku VARCHAR(255),"
+                + " category VARCHAR(255), quantity INT, min_threshold INT, price DECIMAL(10, 2), deleted CHAR(1))");
+        jdbcTemplate.execute("CREATE TABLE stock_transactions (id UUID PRIMARY KEY, tenant_id VARCHAR(255) NOT NULL, inventory_item_id UUID,"
+                + " quantity_change INT, type VARCHAR(20), reason VARCHAR(255), performed_by VARCHAR(255), created_at TIMESTAMP)");
+
+        dataVersionService = new TenantDataVersionService();
+        PerformerIndexService performerIndexService = new PerformerIndexService(mock(TransactionRepository.class),
+                new ConcurrentMapCacheManager());
+        generator = new SyntheticDataGenerator(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                dataVersionService, performerIndexService);
+        ReflectionTestUtils.setField(generator, "batchSize", 7);
+        ReflectionTestUtils.setField(generator, "maxRows", 1_000_000L);
+    }
+
+    @Test
+    void generatesRequestedRowCountsAcrossBatchBoundaries() {
+        SyntheticDataGenerator.Report report = generator.generate(request(3, 20, 23, "synthetic"));
+
+        assertEquals(List.of("synthetic-0", "synthetic-1", "synthetic-2"), report.tenantIds());
+        assertEquals(60, report.items());
+        assertEquals(69, report.transactions());
+        assertEquals(60, count("SELECT COUNT(*) FROM inventory"));
+        assertEquals(69, count("SELECT COUNT(*) FROM stock_transactions"));
+        assertEquals(23, count("SELECT COUNT(*) FROM stock_transactions WHERE tenant_id = 'synthetic-1'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM inventory WHERE quantity < 0"));
+    }
+
+    @Test
+    void exactBatchMultiplesFlushEveryRow() {
+        generator.generate(request(1, 14, 21, "synthetic"));
+
+        assertEquals(14, count("SELECT COUNT(*) FROM inventory"));
+        assertEquals(21, count("SELECT COUNT(*) FROM stock_transactions"));
+    }
+
+    @Test
+    void regeneratingATenantReplacesItsRowsAndBumpsItsVersion() {
+        generator.generate(request(1, 10, 30, "synthetic"));
+        long version = dataVersionService.current("synthetic-0");
+
+        generator.generate(request(1, 10, 30, "synthetic"));
+
+        assertEquals(10, count("SELECT COUNT(*) FROM inventory"));
+        assertEquals(30, count("SELECT COUNT(*) FROM stock_transactions"));
+        assertEquals(version + 1, dataVersionService.current("synthetic-0"));
+    }
+
+    @Test
+    void skuPopularityFollowsZipf() {
+        generator.generate(request(1, 100, 5000, "synthetic"));
+
+        List<Long> perItem = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM stock_transactions GROUP BY inventory_item_id ORDER BY COUNT(*) DESC", Long.class);
+        long top10 = perItem.stream().limit(10).mapToLong(Long::longValue).sum();
+
+        assertTrue(top10 > 2500, "top 10% of SKUs should carry most traffic, got " + top10);
+        assertTrue(perItem.get(0) > 10 * perItem.get(perItem.size() / 2),
+                "head SKU should be far busier than the median SKU: " + perItem);
+    }
+
+    @Test
+    void refusesPrefixesThatCollideWithRealTenants() {
+        jdbcTemplate.update("INSERT INTO inventory (id, tenant_id, name, sku, quantity, deleted) VALUES (?, 'acme-1', 'Real item', 'REAL-1', 5, 'N')",
+                UUID.randomUUID());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> generator.generate(request(2, 5, 5, "acme")));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        assertEquals(1, count("SELECT COUNT(*) FROM inventory"));
+        assertEquals(0, dataVersionService.current("acme-0"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static SyntheticDataGenerator.Request request(int tenants, int items, int transactions, String prefix) {
+        return new SyntheticDataGenerator.Request(tenants, items, transactions, 90, 5, 1.1, 2, 42, prefix);
+    }
+}
@@ -0,0 +1,91 @@
+package com.inventory.saas.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TenantDataVersionServiceTest {
+
+    private static final String KEY = "tenant:data-version:tenant-1";
+
+    private ValueOperations<String, String> redis;
+    private TenantDataVersionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        redis = mock(ValueOperations.class);
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        when(template.opsForValue()).thenReturn(redis);
+        service = new TenantDataVersionService();
+        ReflectionTestUtils.setField(service, "redisTemplate", template);
+    }
+
+    @Test
+    void memoryFallbackContinuesFromTheLastRedisVersion() {
+        when(redis.get(KEY)).thenReturn("5");
+        assertEquals(5, service.current("tenant-1"));
+
+        redisDown();
+
+        assertEquals(5, service.current("tenant-1"));
+        assertEquals(6, service.bump("tenant-1"));
+        assertEquals(6, service.current("tenant-1"));
+    }
+
+    @Test
+    void recoveredRedisIsMovedPastVersionsIssuedDuringTheOutage() {
+        when(redis.get(KEY)).thenReturn("5");
+        service.current("tenant-1");
+        redisDown();
+        service.bump("tenant-1");
+        service.bump("tenant-1");
+
+        reset(redis);
+        when(redis.get(KEY)).thenReturn("5");
+        when(redis.increment(KEY, 2L)).thenReturn(7L);
+
+        assertEquals(7, service.current("tenant-1"));
+        verify(redis).increment(KEY, 2L);
+    }
+
+    @Test
+    void bumpNeverReturnsAVersionAtOrBelowOneAlreadyIssued() {
+        when(redis.get(KEY)).thenReturn("5");
+        service.current("tenant-1");
+        redisDown();
+        assertEquals(6, service.bump("tenant-1"));
+
+        reset(redis);
+        when(redis.increment(KEY)).thenReturn(6L);
+        when(redis.increment(KEY, 1L)).thenReturn(7L);
+
+        assertEquals(7, service.bump("tenant-1"));
+    }
+
+    @Test
+    void versionsNeverGoBackwardsWhenRedisLags() {
+        when(redis.get(KEY)).thenReturn("9");
+        assertEquals(9, service.current("tenant-1"));
+
+        when(redis.get(KEY)).thenReturn("4");
+        when(redis.increment(KEY, 5L)).thenReturn(9L);
+
+        assertEquals(9, service.current("tenant-1"));
+    }
+
+    private void redisDown() {
+        reset(redis);
+        when(redis.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        when(redis.increment(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        when(redis.increment(anyString(), anyLong())).thenThrow(new RedisConnectionFailureException("down"));
+    }
+}
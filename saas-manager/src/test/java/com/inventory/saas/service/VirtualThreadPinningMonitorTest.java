@@ -0,0 +1,62 @@
+package com.inventory.saas.service;
+
+import com.inventory.saas.config.MetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        monitor = new VirtualThreadPinningMonitor();
+        ReflectionTestUtils.setField(monitor, "thresholdMillis", 0L);
+        ReflectionTestUtils.setField(monitor, "stackDepth", 12);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void sleepingInsideSynchronizedIsCountedAndExported() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("pinningMonitor", monitor);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().virtualThreadPinningMetrics(beanFactory.getBeanProvider(VirtualThreadPinningMonitor.class), 3)
+                .bindTo(registry);
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (monitor.pinnedEvents() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertTrue(monitor.pinnedEvents() >= 1);
+        assertTrue(monitor.topSites(3).get(0).frame().contains("sleepWhileHoldingLock"));
+        assertEquals(monitor.pinnedEvents(), registry.get("threads.virtual.pinned").functionCounter().count());
+        assertTrue(registry.get("threads.virtual.pinned.top.millis").tag("rank", "1").gauge().value() > 0);
+        assertEquals(0, registry.get("threads.virtual.pinned.top.millis").tag("rank", "3").gauge().value());
+    }
+
+    private void sleepWhileHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}